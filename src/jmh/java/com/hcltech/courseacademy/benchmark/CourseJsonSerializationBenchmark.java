@@ -0,0 +1,59 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of large course listings, as the controllers return them
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CourseJsonSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<CourseDTO> courses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // Same defaults as the MVC message converter
+        courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            courses.add(new CourseDTO((long) i, "Course " + i, "Description of course number " + i, 10 + i % 90,
+                    (long) (i % 500)));
+        }
+    }
+
+    @Benchmark
+    public void writeToStream() throws IOException {
+        // The response body is streamed, so write to a sink rather than building a byte[]
+        objectMapper.writeValue(OutputStream.nullOutputStream(), courses);
+    }
+
+    @Benchmark
+    public byte[] writeAsBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+}
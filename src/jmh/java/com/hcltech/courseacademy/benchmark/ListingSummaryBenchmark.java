@@ -0,0 +1,117 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.hcltech.courseacademy.CourseAcademyServiceApplication;
+import com.hcltech.courseacademy.service.CourseModuleService;
+import com.hcltech.courseacademy.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full listings against their summary views (?view=summary) on the perf profile's embedded database. The synthetic
+ * descriptions and module contents are 20-200 and 50-400 words, so they dominate the rows.
+ * <p>
+ * At setup, prints the column payload each listing's SELECT reads from the database: the byte length of every text
+ * value plus 8 bytes per bigint and 4 per integer, summed over all rows (protocol overhead not included).
+ * Run with -prof gc to compare allocation per listing as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListingSummaryBenchmark {
+
+    // id, title, description, price, author id, version
+    private static final String COURSE_BYTES_SQL =
+            "select sum(8 + octet_length(title) + coalesce(octet_length(description), 0) + 4 + 8 + 8) from courses";
+    // id, title, price, author id, length(description)
+    private static final String COURSE_SUMMARY_BYTES_SQL =
+            "select sum(8 + octet_length(title) + 4 + 8 + 4) from courses";
+    // id, title, content, course id, version
+    private static final String MODULE_BYTES_SQL =
+            "select sum(8 + octet_length(title) + coalesce(octet_length(content), 0) + 8 + 8) from modules";
+    // id, title, course id, length(content)
+    private static final String MODULE_SUMMARY_BYTES_SQL =
+            "select sum(8 + octet_length(title) + 8 + 4) from modules";
+
+    @Param({"2000"})
+    public int courses;
+
+    @Param({"20000"})
+    public int modules;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private CourseModuleService moduleService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourseAcademyServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, so they take precedence over application-perf.properties
+                .run("--spring.profiles.active=perf",
+                        "--perf.data.authors=100",
+                        "--perf.data.courses=" + courses,
+                        "--perf.data.modules=" + modules,
+                        "--perf.data.students=0",
+                        "--perf.data.purchases=0",
+                        "--logging.level.root=WARN");
+        courseService = context.getBean(CourseService.class);
+        moduleService = context.getBean(CourseModuleService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        printPayload(jdbcTemplate, "courses", COURSE_BYTES_SQL, COURSE_SUMMARY_BYTES_SQL, courses);
+        printPayload(jdbcTemplate, "modules", MODULE_BYTES_SQL, MODULE_SUMMARY_BYTES_SQL, modules);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public List<?> getAllCourseSummaries() {
+        return courseService.getAllCourseSummaries();
+    }
+
+    @Benchmark
+    public List<?> getAllModules() {
+        return moduleService.getAllModules();
+    }
+
+    @Benchmark
+    public List<?> getAllModuleSummaries() {
+        return moduleService.getAllModuleSummaries();
+    }
+
+    private static void printPayload(JdbcTemplate jdbcTemplate, String table, String fullSql, String summarySql, int rows) {
+        long full = jdbcTemplate.queryForObject(fullSql, Long.class);
+        long summary = jdbcTemplate.queryForObject(summarySql, Long.class);
+        System.out.printf("%nbytes read per listing: %s full = %,d, summary = %,d (%.1f%%) for %,d rows%n",
+                table, full, summary, 100.0 * summary / full, rows);
+    }
+}
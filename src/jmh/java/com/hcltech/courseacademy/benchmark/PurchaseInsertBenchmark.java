@@ -0,0 +1,189 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.hcltech.courseacademy.CourseAcademyServiceApplication;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.entity.Course;
+import com.hcltech.courseacademy.entity.PurchasedCourse;
+import com.hcltech.courseacademy.entity.Student;
+import com.hcltech.courseacademy.mapper.PurchasedCourseMapper;
+import com.hcltech.courseacademy.repository.CourseRepository;
+import com.hcltech.courseacademy.repository.PurchasedCourseRepository;
+import com.hcltech.courseacademy.repository.StudentRepository;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of one successful purchase: the single INSERT ... ON CONFLICT DO NOTHING of
+ * PurchasedCourseService.createPurchasedCourse against the former check-then-insert path
+ * (load student, load course, look up an existing purchase, insert).
+ * The "statements" counter is the number of JDBC statements prepared per purchase.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurchaseInsertBenchmark {
+
+    // students x courses distinct pairs, enough for every purchase of a run to be new
+    private static final int STUDENTS = 2_000;
+    private static final int COURSES = 2_000;
+
+    static final AtomicLong PREPARED_STATEMENTS = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private PurchasedCourseService purchasedCourseService;
+    private StudentRepository studentRepository;
+    private CourseRepository courseRepository;
+    private PurchasedCourseRepository purchasedCourseRepository;
+    private TransactionTemplate transactionTemplate;
+    private long studentBase;
+    private long courseBase;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourseAcademyServiceApplication.class, StatementCountingConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=perf",
+                        "--perf.data.authors=10",
+                        "--perf.data.courses=" + COURSES,
+                        "--perf.data.modules=0",
+                        "--perf.data.students=" + STUDENTS,
+                        "--perf.data.purchases=0",
+                        "--logging.level.root=WARN");
+        purchasedCourseService = context.getBean(PurchasedCourseService.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        purchasedCourseRepository = context.getBean(PurchasedCourseRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        studentBase = jdbcTemplate.queryForObject("select min(id) from students", Long.class);
+        courseBase = jdbcTemplate.queryForObject("select min(id) from courses", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Reported per iteration next to the timing; statements / purchases is the statement count per purchase
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+
+        public long statements;
+        public long purchases;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            purchases = 0;
+        }
+
+        void record(long before) {
+            statements += PREPARED_STATEMENTS.get() - before;
+            purchases++;
+        }
+    }
+
+    @Benchmark
+    public PurchasedCourseDTO insertOnConflict(Statements statements) {
+        long before = PREPARED_STATEMENTS.get();
+        PurchasedCourseDTO created = purchasedCourseService.createPurchasedCourse(purchase(next++));
+        statements.record(before);
+        return created;
+    }
+
+    @Benchmark
+    public PurchasedCourseDTO checkThenInsert(Statements statements) {
+        long before = PREPARED_STATEMENTS.get();
+        PurchasedCourseDTO dto = purchase(next++);
+        PurchasedCourseDTO created = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(dto.getStudentId()).orElseThrow();
+            Course course = courseRepository.findById(dto.getCourseId()).orElseThrow();
+            if (purchasedCourseRepository.findByStudentIdAndCourseId(dto.getStudentId(), dto.getCourseId()).isPresent()) {
+                throw new IllegalArgumentException("Student has already purchased this course.");
+            }
+            return PurchasedCourseMapper.toDto(purchasedCourseRepository.save(
+                    new PurchasedCourse(student, course, dto.getPurchaseDate(), false)));
+        });
+        statements.record(before);
+        return created;
+    }
+
+    private PurchasedCourseDTO purchase(long pair) {
+        return new PurchasedCourseDTO(null, studentBase + pair % STUDENTS, courseBase + (pair / STUDENTS) % COURSES,
+                LocalDate.of(2024, 1, 1), false);
+    }
+
+    // Wraps the pool so every prepareStatement on a borrowed connection is counted
+    @Configuration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? new StatementCountingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    static class StatementCountingDataSource extends DelegatingDataSource {
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            PREPARED_STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.entity.Course;
+import com.hcltech.courseacademy.entity.PurchasedCourse;
+import com.hcltech.courseacademy.entity.Student;
+import com.hcltech.courseacademy.mapper.PurchasedCourseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// PurchasedCourseMapper on plain (non-proxied) entities; the per-row cost of every purchase listing that maps entities
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PurchasedCourseMapperBenchmark {
+
+    private PurchasedCourse entity;
+    private PurchasedCourseDTO dto;
+
+    @Setup
+    public void setUp() {
+        Student student = new Student(7L, "bench@example.com", "Bench", "Mark");
+        Course course = new Course(11L, "Benchmarking", "JMH basics", 100, null);
+        entity = new PurchasedCourse(42L, student, course, LocalDate.of(2024, 1, 15), false);
+        dto = new PurchasedCourseDTO(null, 7L, 11L, LocalDate.of(2024, 1, 15), true);
+    }
+
+    @Benchmark
+    public PurchasedCourseDTO toDto() {
+        return PurchasedCourseMapper.toDto(entity);
+    }
+
+    @Benchmark
+    public PurchasedCourse toEntity() {
+        return PurchasedCourseMapper.toEntity(dto);
+    }
+}
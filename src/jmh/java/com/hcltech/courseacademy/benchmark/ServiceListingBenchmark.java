@@ -0,0 +1,123 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.hcltech.courseacademy.CourseAcademyServiceApplication;
+import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.dto.StudentDTO;
+import com.hcltech.courseacademy.repository.CourseRepository;
+import com.hcltech.courseacademy.service.AuthorService;
+import com.hcltech.courseacademy.service.CourseModuleService;
+import com.hcltech.courseacademy.service.CourseService;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import com.hcltech.courseacademy.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The full getAll* service paths (query, row mapping, DTO construction) against the perf profile's embedded
+ * database, seeded with {@code rows} rows per table.
+ * {@link #getAllCoursesViaEntities} is the entity-load-then-convert path the listings used before the DTO
+ * projections; run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceListingBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AuthorService authorService;
+    private CourseService courseService;
+    private CourseModuleService moduleService;
+    private StudentService studentService;
+    private PurchasedCourseService purchasedCourseService;
+    private CourseRepository courseRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourseAcademyServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, so they take precedence over application-perf.properties
+                .run("--spring.profiles.active=perf",
+                        "--perf.data.authors=" + rows,
+                        "--perf.data.courses=" + rows,
+                        "--perf.data.modules=" + rows,
+                        "--perf.data.students=" + rows,
+                        "--perf.data.purchases=" + rows,
+                        "--logging.level.root=WARN");
+        authorService = context.getBean(AuthorService.class);
+        courseService = context.getBean(CourseService.class);
+        moduleService = context.getBean(CourseModuleService.class);
+        studentService = context.getBean(StudentService.class);
+        purchasedCourseService = context.getBean(PurchasedCourseService.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AuthorDTO> getAllAuthors() {
+        return authorService.getAllAuthors();
+    }
+
+    @Benchmark
+    public List<CourseDTO> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public List<CourseDTO> getAllCoursesViaEntities() {
+        return readOnlyTransaction.execute(status -> courseRepository.findAll().stream()
+                .map(course -> new CourseDTO(course.getId(), course.getTitle(), course.getDescription(),
+                        course.getPrice(), course.getAuthor() != null ? course.getAuthor().getId() : null))
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<CourseModuleDTO> getAllModules() {
+        return moduleService.getAllModules();
+    }
+
+    @Benchmark
+    public List<StudentDTO> getAllStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @Benchmark
+    public List<PurchasedCourseDTO> getAllPurchasedCourses() {
+        return purchasedCourseService.getAllPurchasedCourses();
+    }
+}
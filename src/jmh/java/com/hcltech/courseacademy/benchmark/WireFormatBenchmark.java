@@ -0,0 +1,112 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.dto.StudentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialization CPU per 10k records for each wire format, with and without gzip (Tomcat's default level).
+// Bytes on the wire are printed once per trial ("wire size: ...") since JMH only reports time and allocation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final int RECORDS = 10_000;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"course", "module", "student", "purchase"})
+    public String dto;
+
+    private ObjectMapper objectMapper;
+    private List<?> records;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Built like the MVC message converters (WireFormatConfig)
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("smile".equals(format)) {
+            builder.factory(new SmileFactory());
+        } else if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+        records = records(dto);
+
+        ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        write(wire);
+        System.out.printf("%nwire size: %s %s%s = %,d bytes per %,d records%n",
+                dto, format, gzip ? "+gzip" : "", wire.size(), RECORDS);
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        write(OutputStream.nullOutputStream());
+    }
+
+    private void write(OutputStream sink) throws IOException {
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(sink, 8192)) {
+                objectMapper.writeValue(out, records);
+            }
+        } else {
+            objectMapper.writeValue(sink, records);
+        }
+    }
+
+    private static List<?> records(String dto) {
+        List<Object> records = new ArrayList<>(RECORDS);
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < RECORDS; i++) {
+            long id = i + 1;
+            switch (dto) {
+                case "course":
+                    records.add(new CourseDTO(id, "Course " + i, "Description of course number " + i, 10 + i % 90,
+                            id % 500, 0L));
+                    break;
+                case "module":
+                    records.add(new CourseModuleDTO(id, "Module " + i, "Content of module number " + i + " in a few words",
+                            id % 2000, 0L));
+                    break;
+                case "student":
+                    records.add(new StudentDTO(id, "student" + i + "@perf.example.com", "First" + i, "Last" + i, 0L));
+                    break;
+                default:
+                    records.add(new PurchasedCourseDTO(id, id % 50_000, id % 2000, today.minusDays(i % 1000), i % 3 == 0, 0L));
+            }
+        }
+        return records;
+    }
+}
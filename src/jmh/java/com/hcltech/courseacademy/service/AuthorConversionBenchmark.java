@@ -0,0 +1,51 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.entity.Author;
+import com.hcltech.courseacademy.entity.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO conversions of AuthorServiceImp; lives in the service package to reach the package-private helpers
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AuthorConversionBenchmark {
+
+    private AuthorServiceImp service;
+    private Author author;
+    private Course course;
+
+    @Setup
+    public void setUp() {
+        // The conversions only read their argument; no repository is touched
+        service = new AuthorServiceImp(null, null, null, null, null);
+        author = new Author(3L, "Ada", "Lovelace", "ada@example.com", new HashSet<>());
+        course = new Course(5L, "Analytical Engines", "Notes on the engine", 250, author);
+    }
+
+    @Benchmark
+    public AuthorDTO convertToAuthorDTO() {
+        return service.convertToAuthorDTO(author);
+    }
+
+    @Benchmark
+    public CourseDTO convertToCourseDTO() {
+        return service.convertToCourseDTO(course);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseSearchResultDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution (p50/p99 from SampleTime) of a first-page course search over a catalog of
+ * {@code modules} modules. The index is filled directly, without a database; module text is drawn from a
+ * Zipf-like vocabulary so common terms have long posting lists, as in real prose. Like a startup rebuild, the
+ * filled index is merged into a single segment before measuring; it is memory-mapped from a temporary directory.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CourseSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_MODULE = 60;
+    private static final int MODULES_PER_COURSE = 10;
+
+    @Param("1000000")
+    private int modules;
+
+    private Path indexDirectory;
+    private CourseSearchIndex index;
+    private String[] vocabulary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        indexDirectory = Files.createTempDirectory("course-search-benchmark");
+        index = new CourseSearchIndex(null, null, null, indexDirectory.toString());
+        vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = Integer.toString(i * 7919 + 100_000, 36); // Distinct pseudo-words
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        int courses = modules / MODULES_PER_COURSE;
+        Integer price = 100;
+        Long authorId = null; // Typed, so the five-argument (id, title, description, price, authorId) constructor is chosen
+        for (long courseId = 1; courseId <= courses; courseId++) {
+            index.indexCourseAfterCommit(new CourseDTO(courseId, "Course " + courseId + " " + text(random, 3),
+                    text(random, 30), price, authorId));
+        }
+        for (long moduleId = 1; moduleId <= modules; moduleId++) {
+            index.indexModuleAfterCommit(new CourseModuleDTO(moduleId, text(random, 4), text(random, WORDS_PER_MODULE),
+                    1 + (moduleId - 1) % courses));
+        }
+        index.mergeSegments();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.destroy();
+        Files.delete(indexDirectory);
+    }
+
+    // Two terms of mid-range frequency, both required
+    @Benchmark
+    public CourseSearchResultDTO twoTermQuery() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = vocabulary[50 + random.nextInt(500)] + " " + vocabulary[50 + random.nextInt(500)];
+        return index.search(query, 0, CourseSearchResultDTO.DEFAULT_SIZE);
+    }
+
+    // One of the most frequent terms: hundreds of thousands of matches to rank
+    @Benchmark
+    public CourseSearchResultDTO commonTermQuery() throws IOException {
+        return index.search(vocabulary[ThreadLocalRandom.current().nextInt(10)], 0, CourseSearchResultDTO.DEFAULT_SIZE);
+    }
+
+    private String text(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 5);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[zipf(random)]);
+        }
+        return text.toString();
+    }
+
+    // Rank r is drawn with probability ~ 1/r: uniform on a log scale
+    private static int zipf(SplittableRandom random) {
+        return (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+    }
+}
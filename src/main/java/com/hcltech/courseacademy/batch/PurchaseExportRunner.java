@@ -0,0 +1,82 @@
+package com.hcltech.courseacademy.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcltech.courseacademy.service.PurchaseExportWriter;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Batch mode of the purchase export: started with {@code --export.purchases.output=<file>}, the application writes
+ * the export to that file and exits instead of serving requests, e.g. from a nightly job:
+ * <pre>
+ * java -jar course-academy.jar --spring.main.web-application-type=none \
+ *      --export.purchases.output=/exports/purchases.csv --export.purchases.format=csv --export.purchases.details=true
+ * </pre>
+ * The file is written under a ".part" name and renamed when complete, so readers never see a partial export.
+ * A failed export fails the startup, which exits with a non-zero status.
+ */
+@Component
+@ConditionalOnProperty("export.purchases.output")
+@Order(1) // After the perf profile's SyntheticDataGenerator, so a perf run can export the generated rows
+public class PurchaseExportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseExportRunner.class);
+
+    private final PurchasedCourseService purchasedCourseService;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext applicationContext;
+    private final Path output;
+    private final PurchaseExportWriter.Format format;
+    private final boolean details;
+    private final boolean exitWhenDone;
+
+    public PurchaseExportRunner(PurchasedCourseService purchasedCourseService,
+                                ObjectMapper objectMapper,
+                                ConfigurableApplicationContext applicationContext,
+                                @Value("${export.purchases.output}") Path output,
+                                @Value("${export.purchases.format:csv}") String format,
+                                @Value("${export.purchases.details:false}") boolean details,
+                                @Value("${export.purchases.exit:true}") boolean exitWhenDone) {
+        this.purchasedCourseService = purchasedCourseService;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.output = output;
+        this.format = PurchaseExportWriter.Format.parse(format);
+        this.details = details;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        logger.info("Exporting purchased courses as {} (details: {}) to {}.", format, details, output);
+        Path partial = output.resolveSibling(output.getFileName() + ".part");
+        try (OutputStream outputStream = Files.newOutputStream(partial);
+             PurchaseExportWriter writer = PurchaseExportWriter.open(format, details, objectMapper, outputStream)) {
+            purchasedCourseService.exportPurchasedCourses(details, writer);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Purchased course export written to {} ({} bytes).", output, Files.size(output));
+        if (exitWhenDone) {
+            // Scheduler threads would otherwise keep the JVM running
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hcltech.courseacademy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async methods. They run on the "applicationTaskExecutor" bean: Spring Boot's bounded platform-thread
+ * pool by default (spring.task.execution.*), or virtual threads when VirtualThreadConfig is active.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,45 @@
+package com.hcltech.courseacademy.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables the read-through catalog caches. The Caffeine caches (size and time based eviction, statistics for
+ * the actuator metrics) are configured through the spring.cache.* properties.
+ * <p>
+ * The manager is transaction aware: puts and evictions made inside a transaction (@CachePut, @CacheEvict,
+ * CatalogCacheEvictor) are applied after it commits and dropped if it rolls back, so a concurrent reader can
+ * neither re-cache the pre-commit row after an early eviction nor see a value that was never committed.
+ * Reads are not deferred.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    // CourseDTO by course ID
+    public static final String COURSES = "courses";
+    // AuthorDTO by author ID
+    public static final String AUTHORS = "authors";
+    // List<CourseDTO> by author ID
+    public static final String COURSES_BY_AUTHOR = "coursesByAuthor";
+
+    // Replaces Boot's Caffeine manager, which cannot be made transaction aware itself; the cache metrics unwrap the decorator
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeineCacheManager.setCacheSpecification(spec);
+        }
+        caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,141 @@
+package com.hcltech.courseacademy.config;
+
+import com.hcltech.courseacademy.dto.CursorPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Latency, error and result-size metrics for every service interface method and every repository method.
+ * <p>
+ * Per layer ("service" / "repository"), tagged with the interface and method name:
+ * <ul>
+ *     <li>{@code courseacademy.<layer>.calls} timer, with an {@code outcome} (success / error) and {@code exception} tag;
+ *     percentiles and histogram buckets are configured through management.metrics.distribution.*</li>
+ *     <li>{@code courseacademy.<layer>.errors} counter, tagged with the exception class</li>
+ *     <li>{@code courseacademy.<layer>.result.size} summary of the rows returned by methods returning a
+ *     collection, page or Optional; Stream results are lazy and only their opening is timed</li>
+ * </ul>
+ * Runs outside the transaction and cache advice, so a service timer includes the commit and cache hits.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodMetricsAspect {
+
+    static final String PREFIX = "courseacademy.";
+
+    // With class-based proxies the signature's declaring type is the *ServiceImp; tag with its service interface
+    private static final ClassValue<String> SERVICE_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return interfaceName(type, candidate -> candidate.getSimpleName().endsWith("Service"));
+        }
+    };
+
+    // The declaring type of an inherited method is JpaRepository; tag with the application's repository interface
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return interfaceName(type, Repository.class::isAssignableFrom);
+        }
+    };
+
+    private final MeterRegistry meterRegistry;
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Methods declared by the service interfaces, whichever *ServiceImp implements them
+    @Around("execution(public * com.hcltech.courseacademy.service.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("service", SERVICE_NAMES.get(joinPoint.getTarget().getClass()), joinPoint);
+    }
+
+    // Derived and @Query methods as well as the ones inherited from JpaRepository
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " && target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("repository", REPOSITORY_NAMES.get(joinPoint.getTarget().getClass()), joinPoint);
+    }
+
+    private Object record(String layer, String type, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            stop(sample, layer, type, method, "success", "none");
+            recordResultSize(layer, type, method, result);
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            stop(sample, layer, type, method, "error", exception);
+            Counter.builder(PREFIX + layer + ".errors")
+                    .tags("class", type, "method", method, "exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private void stop(Timer.Sample sample, String layer, String type, String method, String outcome, String exception) {
+        sample.stop(Timer.builder(PREFIX + layer + ".calls")
+                .tags("class", type, "method", method, "outcome", outcome, "exception", exception)
+                .register(meterRegistry));
+    }
+
+    private void recordResultSize(String layer, String type, String method, Object result) {
+        int size = resultSize(result);
+        if (size >= 0) {
+            DistributionSummary.builder(PREFIX + layer + ".result.size")
+                    .baseUnit("rows")
+                    .tags("class", type, "method", method)
+                    .register(meterRegistry)
+                    .record(size);
+        }
+    }
+
+    // -1 for results that are not a number of rows (single DTOs, counts, void, streams)
+    static int resultSize(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof CursorPage) {
+            return ((CursorPage<?>) result).getItems().size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static String interfaceName(Class<?> type, Predicate<Class<?>> filter) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (filter.test(candidate)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return type.getSimpleName();
+    }
+}
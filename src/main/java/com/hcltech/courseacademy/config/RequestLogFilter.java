@@ -0,0 +1,79 @@
+package com.hcltech.courseacademy.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One structured (key=value) summary line per request, replacing the per-call INFO lines of the controllers and
+ * services in production (request-log.enabled=true, set by the prod profile).
+ * <p>
+ * Writes, client and server errors and slow requests are always logged. Successful reads are the bulk of the traffic
+ * and are sampled at request-log.read-sample-rate; every line carries the rate it was sampled at, so log-based
+ * counts can be scaled back up.
+ */
+@Component
+@ConditionalOnProperty(name = "request-log.enabled", havingValue = "true")
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogFilter.class);
+
+    private final double readSampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(@Value("${request-log.read-sample-rate:1.0}") double readSampleRate,
+                            @Value("${request-log.slow-threshold:500ms}") Duration slowThreshold) {
+        this.readSampleRate = readSampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR; // Unless the chain returns normally
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            double sampleRate = sampleRate(request.getMethod(), status, elapsed);
+            if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log(request, status, elapsed, sampleRate);
+            }
+        }
+    }
+
+    // 1.0 = always logged
+    double sampleRate(String method, int status, long elapsedNanos) {
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+        if (!read || status >= 400 || elapsedNanos >= slowThresholdNanos) {
+            return 1.0;
+        }
+        return readSampleRate;
+    }
+
+    private static void log(HttpServletRequest request, int status, long elapsedNanos, double sampleRate) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        // The route (e.g. /api/courses/{id}) groups requests by endpoint; unmatched requests have none
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        logger.info("method={} path={} route={} status={} duration_ms={} sample_rate={}",
+                request.getMethod(), request.getRequestURI(), route != null ? route : "-", status,
+                elapsedNanos / 1_000_000, sampleRate);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hcltech.courseacademy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (e.g. the course stats reconciliation). They run on Spring Boot's
+ * single-threaded scheduler (spring.task.scheduling.*), once per application instance.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,69 @@
+package com.hcltech.courseacademy.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hcltech.courseacademy.entity.Author;
+import com.hcltech.courseacademy.entity.Course;
+import com.hcltech.courseacademy.entity.CourseModule;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache, enabled with the "l2cache" profile (see application-l2cache.properties).
+ * Every region is created here with a bounded size, so the cache cannot grow with the catalog; the update
+ * timestamps region is the one exception, Hibernate needs it to hold one entry per table without eviction.
+ */
+@Configuration
+@Profile("l2cache")
+public class SecondLevelCacheConfig {
+
+    public static final long ENTITY_REGION_SIZE = 10_000;
+    public static final long QUERY_REGION_SIZE = 1_000;
+    public static final long TTL_MINUTES = 10;
+
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // Own URI, so the Hibernate regions never mix with another JCache user of the default manager
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("courseacademy-hibernate"), getClass().getClassLoader());
+
+        createRegion(cacheManager, Author.class.getName(), ENTITY_REGION_SIZE);
+        createRegion(cacheManager, Author.class.getName() + ".courses", ENTITY_REGION_SIZE);
+        createRegion(cacheManager, Course.class.getName(), ENTITY_REGION_SIZE);
+        createRegion(cacheManager, Course.class.getName() + ".modules", ENTITY_REGION_SIZE);
+        createRegion(cacheManager, CourseModule.class.getName(), ENTITY_REGION_SIZE);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, QUERY_REGION_SIZE);
+        if (cacheManager.getCache(UPDATE_TIMESTAMPS_REGION) == null) {
+            cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maximumSize) {
+        if (cacheManager.getCache(region) != null) {
+            return; // The manager is looked up by URI, so it can outlive one application context (tests)
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(TTL_MINUTES)));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
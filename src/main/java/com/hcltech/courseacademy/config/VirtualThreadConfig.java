@@ -0,0 +1,46 @@
+package com.hcltech.courseacademy.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and @Async work on virtual threads (spring.threads.virtual.enabled=true).
+ * <p>
+ * Spring Boot 2.7 has no built-in support for this, so the property mirrors the one Spring Boot 3.2 introduced;
+ * on an upgrade this class can be deleted without changing the configuration.
+ * <p>
+ * A request no longer waits for a free Tomcat worker, it waits for a Hikari connection instead, so the pool size
+ * (spring.datasource.hikari.maximum-pool-size) is what bounds concurrent JDBC work. Transactions and the open
+ * EntityManager are bound to the current thread through ThreadLocals and work unchanged on virtual threads.
+ * The PostgreSQL driver and HikariCP versions pinned in the pom guard their I/O with locks instead of synchronized,
+ * so a query in flight does not pin its carrier thread. To check other code for pinning, run with
+ * -Djdk.tracePinnedThreads=short or record the jdk.VirtualThreadPinned JFR event.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        // Replaces Tomcat's worker pool (server.tomcat.threads.max no longer applies); one virtual thread per request
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    // Replaces Spring Boot's ThreadPoolTaskExecutor for @Async methods and async MVC requests
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-vt-", 0).factory()));
+    }
+}
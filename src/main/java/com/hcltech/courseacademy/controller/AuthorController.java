@@ -1,16 +1,23 @@
 package com.hcltech.courseacademy.controller;
 
 import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.AuthorSummaryDTO;
 import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.service.AuthorService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException; // <--- NEW IMPORT for specific error handling
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -22,9 +29,11 @@ public class AuthorController {
     private static final Logger logger = LoggerFactory.getLogger(AuthorController.class);
 
     private final AuthorService authorService;
+    private final ObjectMapper objectMapper;
 
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, ObjectMapper objectMapper) {
         this.authorService = authorService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -60,13 +69,51 @@ public class AuthorController {
         }
     }
 
+    // Keyset pagination; selected when the client passes ?limit=N (optionally with afterId=<nextCursor>)
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<AuthorDTO>> getAllAuthors(@RequestParam(required = false) Long afterId,
+                                                               @RequestParam int limit) {
+        logger.info("Received request to retrieve authors after ID {} (limit {}).", afterId, limit);
+        try {
+            CursorPage<AuthorDTO> page = authorService.getAllAuthors(afterId, limit);
+            logger.info("Successfully retrieved {} authors, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving a page of authors: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Opt-in NDJSON export; rows are written as they are read, so memory stays flat for any table size
+    @GetMapping(value = "/stream", produces = NdjsonResponseWriter.NDJSON)
+    public void streamAllAuthors(HttpServletResponse response) {
+        logger.info("Received request to stream all authors.");
+        try (NdjsonResponseWriter<AuthorDTO> writer = new NdjsonResponseWriter<>(objectMapper, response)) {
+            authorService.streamAllAuthors(writer);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while streaming authors: {}", e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<AuthorDTO> getAuthorById(@PathVariable Long id) {
+    public ResponseEntity<AuthorDTO> getAuthorById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Received request to get author by ID: {}", id);
         try {
+            if (ifNoneMatch != null) {
+                long version = authorService.getAuthorVersion(id); // Version lookup only; the author is not loaded
+                if (ETags.noneMatchHits(ifNoneMatch, version)) {
+                    logger.info("Author with ID {} not modified (version {}).", id, version);
+                    return ETags.notModified(version);
+                }
+            }
             AuthorDTO author = authorService.getAuthorById(id);
             logger.info("Successfully retrieved author with ID: {}", id);
-            return ResponseEntity.ok(author);
+            return ETags.ok(author, author.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Author not found with ID: {}", id);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -77,15 +124,27 @@ public class AuthorController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<AuthorDTO> updateAuthor(@PathVariable Long id, @Valid @RequestBody AuthorDTO authorDTO) {
+    public ResponseEntity<AuthorDTO> updateAuthor(@PathVariable Long id, @Valid @RequestBody AuthorDTO authorDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Received request to update author with ID: {}", id);
         try {
+            if (ifMatch != null) {
+                long version = authorService.getAuthorVersion(id);
+                if (!ETags.matches(ifMatch, version)) {
+                    logger.warn("Stale update of author ID {} rejected: If-Match {}, current version {}.", id, ifMatch, version);
+                    return ETags.preconditionFailed();
+                }
+                authorDTO.setVersion(version); // The service rejects the write if the row changes after this check
+            }
             AuthorDTO updatedAuthor = authorService.updateAuthor(id, authorDTO);
             logger.info("Author with ID {} updated successfully.", id);
-            return ResponseEntity.ok(updatedAuthor);
+            return ETags.ok(updatedAuthor, updatedAuthor.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Author not found for update with ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) { // Changed since the version the client based its update on
+            logger.error("Concurrent update of author ID {} rejected: {}", id, e.getMessage());
+            return ETags.preconditionFailed();
         } catch (IllegalArgumentException e) {
             logger.error("Validation error during author update for ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -166,4 +225,21 @@ public class AuthorController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    // Dashboard figures, refreshed every author-summary.refresh-interval (see refreshedAt)
+    @GetMapping("/{authorId}/summary")
+    public ResponseEntity<AuthorSummaryDTO> getAuthorSummary(@PathVariable Long authorId) {
+        logger.info("Received request to get summary for author ID {}.", authorId);
+        try {
+            AuthorSummaryDTO summary = authorService.getAuthorSummary(authorId);
+            logger.info("Successfully retrieved summary for author ID {} (refreshed at {}).", authorId, summary.getRefreshedAt());
+            return ResponseEntity.ok(summary);
+        } catch (NoSuchElementException e) {
+            logger.error("Author not found when trying to get summary for ID {}: {}", authorId, e.getMessage());
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving summary for author ID {}: {}", authorId, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
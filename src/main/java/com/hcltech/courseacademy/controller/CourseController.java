@@ -1,14 +1,29 @@
 package com.hcltech.courseacademy.controller;
 
 import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseDetailDTO;
+import com.hcltech.courseacademy.dto.CourseImportDTO;
+import com.hcltech.courseacademy.dto.CourseImportReportDTO;
+import com.hcltech.courseacademy.dto.CourseSearchResultDTO;
+import com.hcltech.courseacademy.dto.CourseStatsDTO;
+import com.hcltech.courseacademy.dto.CourseSummaryDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.service.CourseService;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.slf4j.Logger;         // CORRECT: Import SLF4J Logger
 import org.slf4j.LoggerFactory;  // CORRECT: Import SLF4J LoggerFactory
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.NoSuchElementException; // Needed for error handling
@@ -22,9 +37,11 @@ public class CourseController {
     private static final Logger logger = LoggerFactory.getLogger(CourseController.class);
 
     private final CourseService courseService;
+    private final ObjectMapper objectMapper;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, ObjectMapper objectMapper) {
         this.courseService = courseService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -46,13 +63,39 @@ public class CourseController {
         }
     }
 
+    // Bulk import of courses with nested modules, as a JSON array or as NDJSON (one course per line). The body is parsed
+    // incrementally rather than bound with @RequestBody, so memory stays flat for any upload size; 400 means the
+    // document was malformed and only the courses before the reported position were imported
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonResponseWriter.NDJSON})
+    public ResponseEntity<CourseImportReportDTO> importCourses(HttpServletRequest request) {
+        logger.info("Received request to import courses ({}).", request.getContentType());
+        try (MappingIterator<CourseImportDTO> courses =
+                     objectMapper.readerFor(CourseImportDTO.class).readValues(request.getInputStream())) {
+            CourseImportReportDTO report = courseService.importCourses(courses);
+            logger.info("Course import processed: {} courses and {} modules created, {} rejected.",
+                    report.getCoursesCreated(), report.getModulesCreated(), report.getRejected());
+            return new ResponseEntity<>(report, report.isComplete() ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred during course import: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Received request to get course by ID: {}", id); // Improved log message
         try {
+            if (ifNoneMatch != null) {
+                long version = courseService.getCourseVersion(id); // Version lookup only; the course is not loaded
+                if (ETags.noneMatchHits(ifNoneMatch, version)) {
+                    logger.info("Course with ID {} not modified (version {}).", id, version);
+                    return ETags.notModified(version);
+                }
+            }
             CourseDTO course = courseService.getCourseById(id);
             logger.info("Successfully retrieved course with ID: {}", id);
-            return ResponseEntity.ok(course);
+            return ETags.ok(course, course.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Course not found with ID: {}", id);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -62,6 +105,40 @@ public class CourseController {
         }
     }
 
+    // Course page aggregate: course, author, module summaries and enrollment count in one call
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<CourseDetailDTO> getCourseDetail(@PathVariable Long id) {
+        logger.info("Received request to get course detail by ID: {}", id);
+        try {
+            CourseDetailDTO detail = courseService.getCourseDetail(id);
+            logger.info("Successfully retrieved course detail with ID: {}", id);
+            return ResponseEntity.ok(detail);
+        } catch (NoSuchElementException e) {
+            logger.error("Course not found with ID: {}", id);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving course detail with ID {}: {}", id, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Enrollment and completion totals from the per-course counters; constant time however many students enrolled
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<CourseStatsDTO> getCourseStats(@PathVariable Long id) {
+        logger.info("Received request to get course stats by ID: {}", id);
+        try {
+            CourseStatsDTO stats = courseService.getCourseStats(id);
+            logger.info("Successfully retrieved course stats with ID: {}", id);
+            return ResponseEntity.ok(stats);
+        } catch (NoSuchElementException e) {
+            logger.error("Course not found with ID: {}", id);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving course stats with ID {}: {}", id, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<CourseDTO>> getAllCourses() {
         logger.info("Received request to get all courses.");
@@ -75,16 +152,92 @@ public class CourseController {
         }
     }
 
+    // Catalog table: selected with ?view=summary; description lengths instead of the descriptions.
+    // With limit as well the request is a keyset page (below), which has no summary form
+    @GetMapping(params = {"view=summary", "!limit"})
+    public ResponseEntity<List<CourseSummaryDTO>> getAllCourseSummaries() {
+        logger.info("Received request to get all course summaries.");
+        try {
+            List<CourseSummaryDTO> courses = courseService.getAllCourseSummaries();
+            logger.info("Successfully retrieved {} course summaries.", courses.size());
+            return ResponseEntity.ok(courses);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving all course summaries: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Keyset pagination; selected when the client passes ?limit=N (optionally with afterId=<nextCursor>)
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<CourseDTO>> getAllCourses(@RequestParam(required = false) Long afterId,
+                                                               @RequestParam int limit) {
+        logger.info("Received request to retrieve courses after ID {} (limit {}).", afterId, limit);
+        try {
+            CursorPage<CourseDTO> page = courseService.getAllCourses(afterId, limit);
+            logger.info("Successfully retrieved {} courses, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving a page of courses: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Opt-in NDJSON export; rows are written as they are read, so memory stays flat for any table size
+    @GetMapping(value = "/stream", produces = NdjsonResponseWriter.NDJSON)
+    public void streamAllCourses(HttpServletResponse response) {
+        logger.info("Received request to stream all courses.");
+        try (NdjsonResponseWriter<CourseDTO> writer = new NdjsonResponseWriter<>(objectMapper, response)) {
+            courseService.streamAllCourses(writer);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while streaming courses: {}", e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    // Ranked full-text search over course titles/descriptions and module titles/content, e.g. ?q=spring+boot&page=0&size=20
+    @GetMapping("/search")
+    public ResponseEntity<CourseSearchResultDTO> searchCourses(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        logger.info("Received request to search courses for '{}' (page {}, size {}).", q, page, size);
+        try {
+            CourseSearchResultDTO result = courseService.searchCourses(q, page, size);
+            logger.info("Search for '{}' returned {} hits.", q, result.getHits().size());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) { // Blank query, negative page or a page past the result window
+            logger.error("Invalid search request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while searching courses: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<CourseDTO> updateCourse(@PathVariable Long id, @Valid @RequestBody CourseDTO courseDTO) {
+    public ResponseEntity<CourseDTO> updateCourse(@PathVariable Long id, @Valid @RequestBody CourseDTO courseDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Received request to update course with ID: {}, details: {}", id, courseDTO.getTitle()); // Improved log message
         try {
+            if (ifMatch != null) {
+                long version = courseService.getCourseVersion(id);
+                if (!ETags.matches(ifMatch, version)) {
+                    logger.warn("Stale update of course ID {} rejected: If-Match {}, current version {}.", id, ifMatch, version);
+                    return ETags.preconditionFailed();
+                }
+                courseDTO.setVersion(version); // The service rejects the write if the row changes after this check
+            }
             CourseDTO updatedCourse = courseService.updateCourse(id, courseDTO);
             logger.info("Course with ID {} updated successfully.", id);
-            return ResponseEntity.ok(updatedCourse);
+            return ETags.ok(updatedCourse, updatedCourse.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Course not found for update with ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) { // Changed since the version the client based its update on
+            logger.error("Concurrent update of course ID {} rejected: {}", id, e.getMessage());
+            return ETags.preconditionFailed();
         } catch (IllegalArgumentException e) {
             logger.error("Validation error during course update for ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
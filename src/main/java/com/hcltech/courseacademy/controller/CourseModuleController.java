@@ -2,7 +2,12 @@
 package com.hcltech.courseacademy.controller;
 
 import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
+import com.hcltech.courseacademy.dto.ModuleContentUploadDTO;
 import com.hcltech.courseacademy.service.CourseModuleService; // Assuming ModuleService is the interface
+import com.hcltech.courseacademy.service.ModuleContentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,12 +16,23 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
         import javax.validation.Valid;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -26,10 +42,14 @@ import java.util.NoSuchElementException;
 public class CourseModuleController {
 
     private static final Logger logger = LoggerFactory.getLogger(CourseModuleController.class);
+    private static final String DIGEST = "Digest";
+    private static final String SHA_256_DIGEST = "sha-256=";
     private final CourseModuleService moduleService;
+    private final ObjectMapper objectMapper;
 
-    public CourseModuleController(CourseModuleService moduleService) {
+    public CourseModuleController(CourseModuleService moduleService, ObjectMapper objectMapper) {
         this.moduleService = moduleService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -63,14 +83,23 @@ public class CourseModuleController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Module retrieved successfully",
                     content = @Content(schema = @Schema(implementation = CourseModuleDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Module unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Module not found")
     })
-    public ResponseEntity<CourseModuleDTO> getModuleById(@PathVariable Long id) {
+    public ResponseEntity<CourseModuleDTO> getModuleById(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Received request to retrieve module with ID: {}", id);
         try {
+            if (ifNoneMatch != null) {
+                long version = moduleService.getModuleVersion(id); // Version lookup only; the module is not loaded
+                if (ETags.noneMatchHits(ifNoneMatch, version)) {
+                    logger.info("Module with ID {} not modified (version {}).", id, version);
+                    return ETags.notModified(version);
+                }
+            }
             CourseModuleDTO module = moduleService.getModuleById(id);
             logger.info("Retrieved module with ID: {}", id);
-            return new ResponseEntity<>(module, HttpStatus.OK);
+            return ETags.ok(module, module.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Module not found with ID: {}", id);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -80,6 +109,117 @@ public class CourseModuleController {
         }
     }
 
+    // Raw content for downloads and players: served from ModuleContentStore's files, resumable through Range requests
+    @GetMapping("/{id}/content")
+    @Operation(summary = "Download a module's content, whole or as one byte range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The whole content as UTF-8 text"),
+            @ApiResponse(responseCode = "206", description = "The byte range asked for in the Range header"),
+            @ApiResponse(responseCode = "304", description = "Content unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "404", description = "Module not found"),
+            @ApiResponse(responseCode = "416", description = "The range starts past the end of the content")
+    })
+    public void getModuleContent(@PathVariable Long id,
+                                 @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                 @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                 HttpServletRequest request, HttpServletResponse response) {
+        logger.info("Received request to retrieve content of module with ID: {} (range {})", id, range);
+        try (ModuleContentStore.StoredContent content = moduleService.getModuleContent(id)) {
+            long length = content.getLength();
+            response.setHeader(HttpHeaders.ETAG, ETags.of(content.getVersion()));
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (ifNoneMatch != null && ETags.noneMatchHits(ifNoneMatch, ETags.of(content.getVersion()))) {
+                logger.info("Content of module with ID {} not modified (version {}).", id, content.getVersion());
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+
+            long start = 0;
+            long count = length;
+            // A Range based on an older version (If-Range) gets the whole new content instead
+            HttpRange httpRange = range != null && (ifRange == null || ETags.matches(ifRange, content.getVersion()))
+                    ? singleRange(range) : null;
+            if (httpRange != null) {
+                if (httpRange.getRangeStart(length) >= length) {
+                    logger.warn("Unsatisfiable range {} for module ID {} ({} bytes).", range, id, length);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                start = httpRange.getRangeStart(length);
+                long end = httpRange.getRangeEnd(length);
+                count = end - start + 1;
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            }
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setContentLengthLong(count);
+            if (!HttpMethod.HEAD.matches(request.getMethod())) {
+                FileRegionWriter.write(request, response, content.getPath(), content.getChannel(), start, count);
+            }
+            logger.info("Sent {} of {} content bytes of module with ID: {}", count, length, id);
+        } catch (NoSuchElementException e) {
+            logger.error("Module not found with ID: {}", id);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while sending content of module with ID {}: {}", id, e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    // Large lessons: the body is piped to storage in fixed-size chunks instead of being bound to a String as in PUT /{id}
+    @PutMapping(value = "/{id}/content", consumes = {"text/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Replace a module's content with the request body (UTF-8 text), streamed to storage")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Content stored; length and SHA-256 of the bytes received",
+                    content = @Content(schema = @Schema(implementation = ModuleContentUploadDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Body is not UTF-8 text, or does not match the sha-256 in the Digest header"),
+            @ApiResponse(responseCode = "404", description = "Module not found"),
+            @ApiResponse(responseCode = "412", description = "Module changed since the ETag in If-Match"),
+            @ApiResponse(responseCode = "413", description = "Body larger than module-content.max-upload-size")
+    })
+    public ResponseEntity<ModuleContentUploadDTO> uploadModuleContent(@PathVariable Long id,
+                                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                      @RequestHeader(value = DIGEST, required = false) String digest,
+                                                                      HttpServletRequest request) {
+        logger.info("Received request to upload content of module with ID: {} ({} bytes declared)", id, request.getContentLengthLong());
+        try {
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                long version = moduleService.getModuleVersion(id);
+                if (!ETags.matches(ifMatch, version)) {
+                    logger.warn("Stale content upload of module ID {} rejected: If-Match {}, current version {}.", id, ifMatch, version);
+                    return ETags.preconditionFailed();
+                }
+                expectedVersion = version; // The service rejects the write if the row changes after this check
+            }
+            ModuleContentUploadDTO upload = moduleService.uploadModuleContent(id, request.getInputStream(), expectedVersion,
+                    sha256FromDigest(digest));
+            logger.info("Content of module with ID {} uploaded: {} bytes.", id, upload.getLength());
+            return ETags.ok(upload, upload.getVersion());
+        } catch (NoSuchElementException e) {
+            logger.error("Module not found for content upload with ID: {}", id);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) {
+            logger.error("Concurrent content upload of module ID {} rejected: {}", id, e.getMessage());
+            return ETags.preconditionFailed();
+        } catch (MaxUploadSizeExceededException e) {
+            logger.error("Content upload of module ID {} rejected: {}", id, e.getMessage());
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid content upload for module ID {}: {}", id, e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred during content upload for module ID {}: {}", id, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping
     @Operation(summary = "Retrieve all modules")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of modules",
@@ -96,23 +236,88 @@ public class CourseModuleController {
         }
     }
 
+    // Table of contents: selected with ?view=summary; titles and content lengths, without the content bodies.
+    // With limit as well the request is a keyset page (below), which has no summary form
+    @GetMapping(params = {"view=summary", "!limit"})
+    @Operation(summary = "Retrieve all modules without their content")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of module summaries",
+            content = @Content(schema = @Schema(implementation = CourseModuleSummaryDTO[].class)))
+    public ResponseEntity<List<CourseModuleSummaryDTO>> getAllModuleSummaries() {
+        logger.info("Received request to retrieve all module summaries.");
+        try {
+            List<CourseModuleSummaryDTO> modules = moduleService.getAllModuleSummaries();
+            logger.info("Successfully retrieved {} module summaries.", modules.size());
+            return new ResponseEntity<>(modules, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving all module summaries: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Keyset pagination; selected when the client passes ?limit=N (optionally with afterId=<nextCursor>)
+    @GetMapping(params = "limit")
+    @Operation(summary = "Retrieve one keyset-paginated page of modules")
+    @ApiResponse(responseCode = "200", description = "Page of modules; pass nextCursor as afterId to fetch the next page")
+    public ResponseEntity<CursorPage<CourseModuleDTO>> getAllModules(@RequestParam(required = false) Long afterId,
+                                                                     @RequestParam int limit) {
+        logger.info("Received request to retrieve modules after ID {} (limit {}).", afterId, limit);
+        try {
+            CursorPage<CourseModuleDTO> page = moduleService.getAllModules(afterId, limit);
+            logger.info("Successfully retrieved {} modules, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving a page of modules: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Opt-in NDJSON export; rows are written as they are read, so memory stays flat for any table size
+    @GetMapping(value = "/stream", produces = NdjsonResponseWriter.NDJSON)
+    @Operation(summary = "Stream all modules as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One CourseModuleDTO per line, written as rows are read")
+    public void streamAllModules(HttpServletResponse response) {
+        logger.info("Received request to stream all modules.");
+        try (NdjsonResponseWriter<CourseModuleDTO> writer = new NdjsonResponseWriter<>(objectMapper, response)) {
+            moduleService.streamAllModules(writer);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while streaming modules: {}", e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing module record")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Module updated successfully",
                     content = @Content(schema = @Schema(implementation = CourseModuleDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "404", description = "Module or Course not found")
+            @ApiResponse(responseCode = "404", description = "Module or Course not found"),
+            @ApiResponse(responseCode = "412", description = "Module changed since the ETag in If-Match")
     })
-    public ResponseEntity<CourseModuleDTO> updateModule(@PathVariable Long id, @Valid @RequestBody CourseModuleDTO moduleDTO) {
+    public ResponseEntity<CourseModuleDTO> updateModule(@PathVariable Long id, @Valid @RequestBody CourseModuleDTO moduleDTO,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Received request to update module with ID: {}", id);
         try {
+            if (ifMatch != null) {
+                long version = moduleService.getModuleVersion(id);
+                if (!ETags.matches(ifMatch, version)) {
+                    logger.warn("Stale update of module ID {} rejected: If-Match {}, current version {}.", id, ifMatch, version);
+                    return ETags.preconditionFailed();
+                }
+                moduleDTO.setVersion(version); // The service rejects the write if the row changes after this check
+            }
             CourseModuleDTO updatedModule = moduleService.updateModule(id, moduleDTO);
             logger.info("Module with ID {} updated successfully.", id);
-            return new ResponseEntity<>(updatedModule, HttpStatus.OK);
+            return ETags.ok(updatedModule, updatedModule.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Error updating module with ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) { // Changed since the version the client based its update on
+            logger.error("Concurrent update of module ID {} rejected: {}", id, e.getMessage());
+            return ETags.preconditionFailed();
         } catch (IllegalArgumentException e) {
             logger.error("Validation error during module update for ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -164,4 +369,52 @@ public class CourseModuleController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    // A course's table of contents: selected with ?view=summary; titles and content lengths, without the content bodies
+    @GetMapping(value = "/course/{courseId}", params = "view=summary")
+    @Operation(summary = "Retrieve the modules of a specific course without their content")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved module summaries for the course (might be an empty list)",
+                    content = @Content(schema = @Schema(implementation = CourseModuleSummaryDTO[].class))),
+            @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<List<CourseModuleSummaryDTO>> getModuleSummariesByCourseId(@PathVariable Long courseId) {
+        logger.info("Received request to retrieve module summaries for course ID: {}", courseId);
+        try {
+            List<CourseModuleSummaryDTO> modules = moduleService.getModuleSummariesByCourseId(courseId);
+            logger.info("Retrieved {} module summaries for course ID: {}.", modules.size(), courseId);
+            return new ResponseEntity<>(modules, HttpStatus.OK);
+        } catch (NoSuchElementException e) {
+            logger.error("Course not found with ID: {}: {}", courseId, e.getMessage());
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving module summaries for course ID {}: {}", courseId, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Serves one range; several ranges (multipart/byteranges) or a malformed header get the whole content, which RFC 7233 allows
+    private static HttpRange singleRange(String range) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed Range header: {}", range);
+            return null;
+        }
+    }
+
+    // RFC 3230 Digest header, e.g. "sha-256=X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=", as hex; other algorithms are ignored
+    private static String sha256FromDigest(String digest) {
+        if (digest == null) {
+            return null;
+        }
+        for (String part : digest.split(",")) {
+            String value = part.trim();
+            if (value.regionMatches(true, 0, SHA_256_DIGEST, 0, SHA_256_DIGEST.length())) {
+                return HexFormat.of().formatHex(Base64.getDecoder().decode(value.substring(SHA_256_DIGEST.length())));
+            }
+        }
+        return null;
+    }
 }
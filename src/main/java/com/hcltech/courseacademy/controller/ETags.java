@@ -0,0 +1,126 @@
+package com.hcltech.courseacademy.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+/**
+ * Strong ETags built from a row's version column, and the If-None-Match / If-Match comparisons against them.
+ * The version identifies the state because every change to the row increments it. A DTO is served as JSON, CBOR
+ * or Smile (WireFormatConfig), whose bytes differ, so the tag also names the format: "3" for JSON, "3-cbor" and
+ * "3-smile" for the binary ones, and responses carry Vary: Accept.
+ */
+final class ETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final String CBOR_SUFFIX = "-cbor";
+    private static final String SMILE_SUFFIX = "-smile";
+
+    private ETags() {
+    }
+
+    // The bare tag: the JSON representation, and raw content that is not negotiated
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // The tag of the representation content negotiation picks for the current request
+    static String ofAccepted(long version) {
+        return "\"" + version + acceptedSuffix() + "\"";
+    }
+
+    // 200 with the ETag of the representation; DTOs without a version (e.g. built by hand) get no ETag
+    static <T> ResponseEntity<T> ok(T body, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (version != null) {
+            builder.eTag(ofAccepted(version));
+        }
+        return builder.body(body);
+    }
+
+    // 304 carries the ETag but no body
+    static <T> ResponseEntity<T> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(ofAccepted(version)).build();
+    }
+
+    static <T> ResponseEntity<T> preconditionFailed() {
+        return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // If-None-Match uses the weak comparison: W/"3" matches "3"; only the tag of the negotiated representation hits
+    static boolean noneMatchHits(String ifNoneMatch, long version) {
+        return noneMatchHits(ifNoneMatch, ofAccepted(version));
+    }
+
+    static boolean noneMatchHits(String ifNoneMatch, String current) {
+        return anyMatches(ifNoneMatch, List.of(current), true);
+    }
+
+    // If-Match uses the strong comparison; a tag of any representation of the current version matches, and so does "*"
+    static boolean matches(String ifMatch, long version) {
+        return anyMatches(ifMatch, List.of(of(version), "\"" + version + CBOR_SUFFIX + "\"",
+                "\"" + version + SMILE_SUFFIX + "\""), false);
+    }
+
+    private static boolean anyMatches(String header, List<String> current, boolean weak) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (ANY.equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                if (!weak) {
+                    continue; // A weak tag never matches strongly
+                }
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (current.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Mirrors the converter choice: the most preferred Accept entry decides, the binary formats have to be named,
+    // and wildcards, a missing header and anything unparsable get JSON
+    private static String acceptedSuffix() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String accept = attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.ACCEPT) : null;
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.equalsTypeAndSubtype(CBOR)) {
+                return CBOR_SUFFIX;
+            }
+            if (type.equalsTypeAndSubtype(SMILE)) {
+                return SMILE_SUFFIX;
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,54 @@
+package com.hcltech.courseacademy.controller;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Sends a byte range of a file as the response body without reading it into the heap.
+ * <p>
+ * On Tomcat's NIO connector the file is handed to the container, which sends it with sendfile
+ * (FileChannel.transferTo into the socket) once the handler has returned; it opens the file by name then, so the
+ * file must not be deleted right away (ModuleContentStore keeps superseded versions for a retention period).
+ * Where sendfile is not available (TLS, other containers, MockMvc) the range is copied from the already open
+ * channel into the response stream with FileChannel.transferTo, which keeps working even if the file is deleted
+ * meanwhile. Headers, including Content-Length, have to be set before calling {@link #write}.
+ */
+final class FileRegionWriter {
+
+    // Tomcat's sendfile contract: the support flag is set by the connector, the others are read after the handler returns
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileRegionWriter() {
+    }
+
+    static void write(HttpServletRequest request, HttpServletResponse response, Path file, FileChannel channel,
+                      long start, long count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count); // Exclusive
+            return;
+        }
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long end = start + count;
+        while (position < end) {
+            long sent = channel.transferTo(position, end - position, target);
+            if (sent <= 0) {
+                throw new IOException("File " + file + " ended at " + position + " of " + end + " bytes");
+            }
+            position += sent;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hcltech.courseacademy.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes one JSON document per line straight to the servlet response, so a listing of any size
+ * is serialized row by row instead of being collected into a List first.
+ */
+final class NdjsonResponseWriter<T> implements Consumer<T>, Closeable {
+
+    static final String NDJSON = MediaType.APPLICATION_NDJSON_VALUE;
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+
+    NdjsonResponseWriter(ObjectMapper objectMapper, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // Rows are terminated by '\n' explicitly; the servlet buffer decides when to flush, not every row
+        this.objectWriter = objectMapper.writer()
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            objectWriter.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
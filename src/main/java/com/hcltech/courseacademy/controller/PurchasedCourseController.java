@@ -1,15 +1,23 @@
 package com.hcltech.courseacademy.controller;
 
+import com.hcltech.courseacademy.dto.BulkPurchaseReportDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.service.PurchaseExportWriter;
 import com.hcltech.courseacademy.service.PurchasedCourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -27,9 +35,11 @@ public class PurchasedCourseController {
 
     private static final Logger logger = LoggerFactory.getLogger(PurchasedCourseController.class);
     private final PurchasedCourseService purchasedCourseService;
+    private final ObjectMapper objectMapper;
 
-    public PurchasedCourseController(PurchasedCourseService purchasedCourseService) {
+    public PurchasedCourseController(PurchasedCourseService purchasedCourseService, ObjectMapper objectMapper) {
         this.purchasedCourseService = purchasedCourseService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -58,19 +68,50 @@ public class PurchasedCourseController {
         }
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create many purchased course records in one request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk request processed; see the per-item results",
+                    content = @Content(schema = @Schema(implementation = BulkPurchaseReportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Request body missing or larger than the bulk limit")
+    })
+    public ResponseEntity<BulkPurchaseReportDTO> createPurchasedCourses(@RequestBody List<PurchasedCourseDTO> purchasedCourseDTOs) {
+        logger.info("Received bulk request to create {} purchased courses.", purchasedCourseDTOs.size());
+        try {
+            BulkPurchaseReportDTO report = purchasedCourseService.createPurchasedCourses(purchasedCourseDTOs);
+            logger.info("Bulk purchase processed: {} created, {} rejected.", report.getCreated(), report.getRejected());
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error during bulk purchased course creation: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred during bulk purchased course creation: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Retrieve a purchased course by its ID") // Updated @ApiOperation
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Purchased course retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PurchasedCourseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Purchased course unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Purchased course not found")
     })
-    public ResponseEntity<PurchasedCourseDTO> getPurchasedCourseById(@PathVariable Long id) {
+    public ResponseEntity<PurchasedCourseDTO> getPurchasedCourseById(@PathVariable Long id,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Received request to retrieve purchased course with ID: {}", id);
         try {
+            if (ifNoneMatch != null) {
+                long version = purchasedCourseService.getPurchasedCourseVersion(id); // Version lookup only; the purchased course is not loaded
+                if (ETags.noneMatchHits(ifNoneMatch, version)) {
+                    logger.info("Purchased course with ID {} not modified (version {}).", id, version);
+                    return ETags.notModified(version);
+                }
+            }
             PurchasedCourseDTO purchasedCourse = purchasedCourseService.getPurchasedCourseById(id);
             logger.info("Retrieved purchased course with ID: {}", id);
-            return new ResponseEntity<>(purchasedCourse, HttpStatus.OK);
+            return ETags.ok(purchasedCourse, purchasedCourse.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Purchased course not found with ID: {}", id);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -96,23 +137,105 @@ public class PurchasedCourseController {
         }
     }
 
+    // Keyset pagination; selected when the client passes ?limit=N (optionally with afterId=<nextCursor>)
+    @GetMapping(params = "limit")
+    @Operation(summary = "Retrieve one keyset-paginated page of purchased courses")
+    @ApiResponse(responseCode = "200", description = "Page of purchased courses; pass nextCursor as afterId to fetch the next page")
+    public ResponseEntity<CursorPage<PurchasedCourseDTO>> getAllPurchasedCourses(@RequestParam(required = false) Long afterId,
+                                                                                 @RequestParam int limit) {
+        logger.info("Received request to retrieve purchased courses after ID {} (limit {}).", afterId, limit);
+        try {
+            CursorPage<PurchasedCourseDTO> page = purchasedCourseService.getAllPurchasedCourses(afterId, limit);
+            logger.info("Successfully retrieved {} purchased courses, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while retrieving a page of purchased courses: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Opt-in NDJSON export; rows are written as they are read, so memory stays flat for any table size
+    @GetMapping(value = "/stream", produces = NdjsonResponseWriter.NDJSON)
+    @Operation(summary = "Stream all purchased courses as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One PurchasedCourseDTO per line, written as rows are read")
+    public void streamAllPurchasedCourses(HttpServletResponse response) {
+        logger.info("Received request to stream all purchased courses.");
+        try (NdjsonResponseWriter<PurchasedCourseDTO> writer = new NdjsonResponseWriter<>(objectMapper, response)) {
+            purchasedCourseService.streamAllPurchasedCourses(writer);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while streaming purchased courses: {}", e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    // Finance/BI export straight from a database cursor to the response; memory stays flat for any table size.
+    // The same export runs as a batch job through PurchaseExportRunner
+    @GetMapping("/export")
+    @Operation(summary = "Export all purchased courses as CSV or newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One purchase per line (CSV with a header line), written as rows are read"),
+            @ApiResponse(responseCode = "400", description = "Unknown format; use csv or ndjson")
+    })
+    public void exportPurchasedCourses(@RequestParam(defaultValue = "csv") String format,
+                                       @RequestParam(defaultValue = "false") boolean details,
+                                       HttpServletResponse response) {
+        logger.info("Received request to export purchased courses as {} (details: {}).", format, details);
+        PurchaseExportWriter.Format exportFormat;
+        try {
+            exportFormat = PurchaseExportWriter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error during purchased course export: {}", e.getMessage());
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"purchased-courses." + exportFormat.getFileExtension() + "\"");
+        try (PurchaseExportWriter writer = PurchaseExportWriter.open(exportFormat, details, objectMapper, response.getOutputStream())) {
+            purchasedCourseService.exportPurchasedCourses(details, writer);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while exporting purchased courses: {}", e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing purchased course record") // Updated @ApiOperation
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Purchased course updated successfully",
                     content = @Content(schema = @Schema(implementation = PurchasedCourseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "404", description = "Purchased course, Student, or Course not found")
+            @ApiResponse(responseCode = "404", description = "Purchased course, Student, or Course not found"),
+            @ApiResponse(responseCode = "412", description = "Purchased course changed since the ETag in If-Match")
     })
-    public ResponseEntity<PurchasedCourseDTO> updatePurchasedCourse(@PathVariable Long id, @Valid @RequestBody PurchasedCourseDTO purchasedCourseDTO) {
+    public ResponseEntity<PurchasedCourseDTO> updatePurchasedCourse(@PathVariable Long id, @Valid @RequestBody PurchasedCourseDTO purchasedCourseDTO,
+                                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Received request to update purchased course with ID: {}", id);
         try {
+            if (ifMatch != null) {
+                long version = purchasedCourseService.getPurchasedCourseVersion(id);
+                if (!ETags.matches(ifMatch, version)) {
+                    logger.warn("Stale update of purchased course ID {} rejected: If-Match {}, current version {}.", id, ifMatch, version);
+                    return ETags.preconditionFailed();
+                }
+                purchasedCourseDTO.setVersion(version); // The service rejects the write if the row changes after this check
+            }
             PurchasedCourseDTO updatedCourse = purchasedCourseService.updatePurchasedCourse(id, purchasedCourseDTO);
             logger.info("Purchased course with ID {} updated successfully.", id);
-            return new ResponseEntity<>(updatedCourse, HttpStatus.OK);
+            return ETags.ok(updatedCourse, updatedCourse.getVersion());
         } catch (NoSuchElementException e) {
             logger.error("Error updating purchased course with ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) { // Changed since the version the client based its update on
+            logger.error("Concurrent update of purchased course ID {} rejected: {}", id, e.getMessage());
+            return ETags.preconditionFailed();
         } catch (IllegalArgumentException e) {
             logger.error("Validation error during purchased course update for ID {}: {}", id, e.getMessage());
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
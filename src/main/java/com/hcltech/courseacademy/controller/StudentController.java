@@ -1,14 +1,20 @@
 package com.hcltech.courseacademy.controller;
 
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.dto.StudentDTO;
 import com.hcltech.courseacademy.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -17,10 +23,12 @@ public class StudentController {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentController.class);
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
 
     // Manual constructor for dependency injection
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -31,10 +39,17 @@ public class StudentController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Received request to get student by ID: {}", id);
+        if (ifNoneMatch != null) {
+            long version = studentService.getStudentVersion(id); // Version lookup only; the student is not loaded
+            if (ETags.noneMatchHits(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+        }
         StudentDTO student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+        return ETags.ok(student, student.getVersion());
     }
 
     @GetMapping
@@ -44,11 +59,43 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    // Keyset pagination; selected when the client passes ?limit=N (optionally with afterId=<nextCursor>)
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<StudentDTO>> getAllStudents(@RequestParam(required = false) Long afterId,
+                                                                 @RequestParam int limit) {
+        logger.info("Received request to get students after ID {} (limit {}).", afterId, limit);
+        CursorPage<StudentDTO> page = studentService.getAllStudents(afterId, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Opt-in NDJSON export; rows are written as they are read, so memory stays flat for any table size
+    @GetMapping(value = "/stream", produces = NdjsonResponseWriter.NDJSON)
+    public void streamAllStudents(HttpServletResponse response) throws IOException {
+        logger.info("Received request to stream all students.");
+        try (NdjsonResponseWriter<StudentDTO> writer = new NdjsonResponseWriter<>(objectMapper, response)) {
+            studentService.streamAllStudents(writer);
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDTO> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentDTO studentDTO) {
+    public ResponseEntity<StudentDTO> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentDTO studentDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Received request to update student with ID: {}, email: {}", id, studentDTO.getEmail());
-        StudentDTO updatedStudent = studentService.updateStudent(id, studentDTO);
-        return ResponseEntity.ok(updatedStudent);
+        if (ifMatch != null) {
+            long version = studentService.getStudentVersion(id);
+            if (!ETags.matches(ifMatch, version)) {
+                logger.warn("Stale update of student ID {} rejected: If-Match {}, current version {}.", id, ifMatch, version);
+                return ETags.preconditionFailed();
+            }
+            studentDTO.setVersion(version); // The service rejects the write if the row changes after this check
+        }
+        try {
+            StudentDTO updatedStudent = studentService.updateStudent(id, studentDTO);
+            return ETags.ok(updatedStudent, updatedStudent.getVersion());
+        } catch (OptimisticLockingFailureException e) { // Changed since the version the client based its update on
+            logger.error("Concurrent update of student ID {} rejected: {}", id, e.getMessage());
+            return ETags.preconditionFailed();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -20,6 +20,8 @@ public class AuthorDTO {
     @Size(max = 255, message = "Email cannot exceed 255 characters")
     private String email;
 
+    private Long version; // Row version, also the ETag; on an update, the version the change was based on (null = unconditional)
+
     // No-argument constructor
     public AuthorDTO() {
     }
@@ -32,6 +34,11 @@ public class AuthorDTO {
         this.email = email;
     }
 
+    public AuthorDTO(Long id, String firstname, String lastname, String email, Long version) {
+        this(id, firstname, lastname, email);
+        this.version = version;
+    }
+
     public AuthorDTO(long l, String johnDoe, String mail) {
 
     }
@@ -74,6 +81,14 @@ public class AuthorDTO {
         this.email = email;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Optional: Override toString() for better logging/debugging
     @Override
     public String toString() {
@@ -0,0 +1,81 @@
+package com.hcltech.courseacademy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard figures of one author: number of courses, distinct students over all of them and revenue (the sum of
+ * the course price over every purchase). Read from a periodically refreshed summary, so the figures are as of
+ * {@code refreshedAt}.
+ */
+public class AuthorSummaryDTO {
+
+    private Long authorId;
+    private long courseCount;
+    private long studentCount;
+    private long revenue;
+    private LocalDateTime refreshedAt;
+
+    public AuthorSummaryDTO() {
+    }
+
+    public AuthorSummaryDTO(Long authorId, long courseCount, long studentCount, long revenue, LocalDateTime refreshedAt) {
+        this.authorId = authorId;
+        this.courseCount = courseCount;
+        this.studentCount = studentCount;
+        this.revenue = revenue;
+        this.refreshedAt = refreshedAt;
+    }
+
+    // Getters
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public long getCourseCount() {
+        return courseCount;
+    }
+
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    // Setters
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public void setCourseCount(long courseCount) {
+        this.courseCount = courseCount;
+    }
+
+    public void setStudentCount(long studentCount) {
+        this.studentCount = studentCount;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorSummaryDTO{" +
+                "authorId=" + authorId +
+                ", courseCount=" + courseCount +
+                ", studentCount=" + studentCount +
+                ", revenue=" + revenue +
+                ", refreshedAt=" + refreshedAt +
+                '}';
+    }
+}
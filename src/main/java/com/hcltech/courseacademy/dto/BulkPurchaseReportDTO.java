@@ -0,0 +1,69 @@
+package com.hcltech.courseacademy.dto;
+
+import java.util.List;
+
+/**
+ * Summary and per-item results of a bulk purchase request.
+ */
+public class BulkPurchaseReportDTO {
+
+    private int requested;
+    private int created;
+    private int rejected;
+    private List<BulkPurchaseResultDTO> results;
+
+    public BulkPurchaseReportDTO() {
+    }
+
+    public BulkPurchaseReportDTO(List<BulkPurchaseResultDTO> results) {
+        this.results = results;
+        this.requested = results.size();
+        this.created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkPurchaseResultDTO.Status.CREATED)
+                .count();
+        this.rejected = requested - created;
+    }
+
+    // Getters
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<BulkPurchaseResultDTO> getResults() {
+        return results;
+    }
+
+    // Setters
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public void setResults(List<BulkPurchaseResultDTO> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkPurchaseReportDTO{" +
+                "requested=" + requested +
+                ", created=" + created +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * Outcome of one item of a bulk purchase request, reported at the item's position in the request.
+ */
+public class BulkPurchaseResultDTO {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        STUDENT_NOT_FOUND,
+        COURSE_NOT_FOUND,
+        INVALID
+    }
+
+    private int index;
+    private Long id;
+    private Long studentId;
+    private Long courseId;
+    private Status status;
+    private String message;
+
+    public BulkPurchaseResultDTO() {
+    }
+
+    public BulkPurchaseResultDTO(int index, Long id, Long studentId, Long courseId, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // Setters
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkPurchaseResultDTO{" +
+                "index=" + index +
+                ", id=" + id +
+                ", studentId=" + studentId +
+                ", courseId=" + courseId +
+                ", status=" + status +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -8,6 +8,7 @@ public class CourseDTO {
     private String description;
     private Integer price;
     private Long authorId;
+    private Long version; // Row version, also the ETag; on an update, the version the change was based on (null = unconditional)
 
 
     public CourseDTO(Long id, String title, String description, Integer price, Long authorId) {
@@ -19,6 +20,11 @@ public class CourseDTO {
     }
 
 
+    public CourseDTO(Long id, String title, String description, Integer price, Long authorId, Long version) {
+        this(id, title, description, price, authorId);
+        this.version = version;
+    }
+
     public CourseDTO() {
     }
 
@@ -74,6 +80,14 @@ public class CourseDTO {
         this.authorId = authorId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
 
     public static CourseDTOBuilder builder() {
         return new CourseDTOBuilder();
@@ -0,0 +1,69 @@
+package com.hcltech.courseacademy.dto;
+
+import java.util.List;
+
+/**
+ * Everything a course page shows, in one response: the course, its author (null when unassigned),
+ * its modules in order and the number of students enrolled.
+ */
+public class CourseDetailDTO {
+
+    private CourseDTO course;
+    private AuthorDTO author;
+    private List<CourseModuleSummaryDTO> modules;
+    private long enrollmentCount;
+
+    public CourseDetailDTO() {
+    }
+
+    public CourseDetailDTO(CourseDTO course, AuthorDTO author, List<CourseModuleSummaryDTO> modules, long enrollmentCount) {
+        this.course = course;
+        this.author = author;
+        this.modules = modules;
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    // Getters
+    public CourseDTO getCourse() {
+        return course;
+    }
+
+    public AuthorDTO getAuthor() {
+        return author;
+    }
+
+    public List<CourseModuleSummaryDTO> getModules() {
+        return modules;
+    }
+
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    // Setters
+    public void setCourse(CourseDTO course) {
+        this.course = course;
+    }
+
+    public void setAuthor(AuthorDTO author) {
+        this.author = author;
+    }
+
+    public void setModules(List<CourseModuleSummaryDTO> modules) {
+        this.modules = modules;
+    }
+
+    public void setEnrollmentCount(long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseDetailDTO{" +
+                "course=" + course +
+                ", author=" + author +
+                ", modules=" + (modules != null ? modules.size() : 0) +
+                ", enrollmentCount=" + enrollmentCount +
+                '}';
+    }
+}
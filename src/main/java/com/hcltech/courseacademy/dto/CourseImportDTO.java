@@ -0,0 +1,80 @@
+package com.hcltech.courseacademy.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One course of a bulk import document, with its modules nested in order. The modules' IDs and course IDs are
+ * assigned by the import and ignored if present.
+ */
+public class CourseImportDTO {
+
+    private String title;
+    private String description;
+    private Integer price;
+    private Long authorId;
+    private List<CourseModuleDTO> modules = new ArrayList<>();
+
+    public CourseImportDTO() {
+    }
+
+    public CourseImportDTO(String title, String description, Integer price, Long authorId, List<CourseModuleDTO> modules) {
+        this.title = title;
+        this.description = description;
+        this.price = price;
+        this.authorId = authorId;
+        this.modules = modules;
+    }
+
+    // Getters
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getPrice() {
+        return price;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public List<CourseModuleDTO> getModules() {
+        return modules;
+    }
+
+    // Setters
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setPrice(Integer price) {
+        this.price = price;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public void setModules(List<CourseModuleDTO> modules) {
+        this.modules = modules;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseImportDTO{" +
+                "title='" + title + '\'' +
+                ", price=" + price +
+                ", authorId=" + authorId +
+                ", modules=" + (modules != null ? modules.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * A course of a bulk import that was not created, reported at its position in the document.
+ */
+public class CourseImportErrorDTO {
+
+    private long index;
+    private String title;
+    private String message;
+
+    public CourseImportErrorDTO() {
+    }
+
+    public CourseImportErrorDTO(long index, String title, String message) {
+        this.index = index;
+        this.title = title;
+        this.message = message;
+    }
+
+    // Getters
+    public long getIndex() {
+        return index;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // Setters
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseImportErrorDTO{" +
+                "index=" + index +
+                ", title='" + title + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
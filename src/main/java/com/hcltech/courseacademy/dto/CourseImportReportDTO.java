@@ -0,0 +1,94 @@
+package com.hcltech.courseacademy.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk course import. Counts cover the whole document; only the first
+ * {@link #MAX_REPORTED_ERRORS} rejected courses are listed, so the report stays small for any upload.
+ * When the document is malformed, everything before the malformed course is imported and complete is false.
+ */
+public class CourseImportReportDTO {
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long received;
+    private long coursesCreated;
+    private long modulesCreated;
+    private long rejected;
+    private boolean complete;
+    private List<CourseImportErrorDTO> errors;
+
+    public CourseImportReportDTO() {
+    }
+
+    public CourseImportReportDTO(long received, long coursesCreated, long modulesCreated, long rejected,
+                                 boolean complete, List<CourseImportErrorDTO> errors) {
+        this.received = received;
+        this.coursesCreated = coursesCreated;
+        this.modulesCreated = modulesCreated;
+        this.rejected = rejected;
+        this.complete = complete;
+        this.errors = errors;
+    }
+
+    // Getters
+    public long getReceived() {
+        return received;
+    }
+
+    public long getCoursesCreated() {
+        return coursesCreated;
+    }
+
+    public long getModulesCreated() {
+        return modulesCreated;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public List<CourseImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    // Setters
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public void setCoursesCreated(long coursesCreated) {
+        this.coursesCreated = coursesCreated;
+    }
+
+    public void setModulesCreated(long modulesCreated) {
+        this.modulesCreated = modulesCreated;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public void setErrors(List<CourseImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseImportReportDTO{" +
+                "received=" + received +
+                ", coursesCreated=" + coursesCreated +
+                ", modulesCreated=" + modulesCreated +
+                ", rejected=" + rejected +
+                ", complete=" + complete +
+                '}';
+    }
+}
@@ -14,6 +14,7 @@ public class CourseModuleDTO {
     private String title;
     private String content;
     private Long courseId; // Foreign key to Course
+    private Long version; // Row version, also the ETag; on an update, the version the change was based on (null = unconditional)
 
     // All-argument constructor
     public CourseModuleDTO(Long id, String title, String content, Long courseId) {
@@ -23,6 +24,11 @@ public class CourseModuleDTO {
         this.courseId = courseId;
     }
 
+    public CourseModuleDTO(Long id, String title, String content, Long courseId, Long version) {
+        this(id, title, content, courseId);
+        this.version = version;
+    }
+
     // No-argument constructor
     public CourseModuleDTO() {
     }
@@ -0,0 +1,71 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * A module as listed on a course page or in a table of contents: its ID, title and course, and the length of its
+ * content (in characters) instead of the content body. The body is only loaded by the single-module GET.
+ */
+public class CourseModuleSummaryDTO {
+
+    private Long id;
+    private String title;
+    private Long courseId;
+    private Integer contentLength; // Null when the module has no content
+
+    public CourseModuleSummaryDTO() {
+    }
+
+    public CourseModuleSummaryDTO(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+
+    public CourseModuleSummaryDTO(Long id, String title, Long courseId, Integer contentLength) {
+        this(id, title);
+        this.courseId = courseId;
+        this.contentLength = contentLength;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    // Setters
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void setContentLength(Integer contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseModuleSummaryDTO{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", courseId=" + courseId +
+                ", contentLength=" + contentLength +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * One ranked match of a course search: either a course (title/description matched) or one of its modules
+ * (title/content matched). {@code moduleId} is null for course hits.
+ */
+public class CourseSearchHitDTO {
+
+    public enum Type {
+        COURSE, MODULE
+    }
+
+    private Type type;
+    private Long courseId;
+    private Long moduleId;
+    private String title;
+    private float score;
+
+    public CourseSearchHitDTO() {
+    }
+
+    public CourseSearchHitDTO(Type type, Long courseId, Long moduleId, String title, float score) {
+        this.type = type;
+        this.courseId = courseId;
+        this.moduleId = moduleId;
+        this.title = title;
+        this.score = score;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getModuleId() {
+        return moduleId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    // Setters
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void setModuleId(Long moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseSearchHitDTO{" +
+                "type=" + type +
+                ", courseId=" + courseId +
+                ", moduleId=" + moduleId +
+                ", title='" + title + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,105 @@
+package com.hcltech.courseacademy.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked course search hits.
+ * {@code totalHits} is exact up to the index's counting threshold; past it {@code totalHitsExact} is false and the
+ * value is a lower bound.
+ */
+public class CourseSearchResultDTO {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    // Deepest hit a client can page to; ranking further down costs more than it is worth
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private String query;
+    private long totalHits;
+    private boolean totalHitsExact;
+    private int page;
+    private int size;
+    private List<CourseSearchHitDTO> hits;
+
+    public CourseSearchResultDTO() {
+    }
+
+    public CourseSearchResultDTO(String query, long totalHits, boolean totalHitsExact, int page, int size,
+                                 List<CourseSearchHitDTO> hits) {
+        this.query = query;
+        this.totalHits = totalHits;
+        this.totalHitsExact = totalHitsExact;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+
+    // Clamps a client supplied page size into [1, MAX_SIZE]
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    // Getters
+    public String getQuery() {
+        return query;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public boolean isTotalHitsExact() {
+        return totalHitsExact;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<CourseSearchHitDTO> getHits() {
+        return hits;
+    }
+
+    // Setters
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public void setTotalHitsExact(boolean totalHitsExact) {
+        this.totalHitsExact = totalHitsExact;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public void setHits(List<CourseSearchHitDTO> hits) {
+        this.hits = hits;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseSearchResultDTO{" +
+                "query='" + query + '\'' +
+                ", totalHits=" + totalHits +
+                ", page=" + page +
+                ", size=" + size +
+                ", hits=" + (hits != null ? hits.size() : 0) +
+                '}';
+    }
+}
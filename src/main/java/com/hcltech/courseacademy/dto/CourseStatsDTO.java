@@ -0,0 +1,61 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * Enrollment and completion totals of one course, read from the per-course counters rather than counted from
+ * the purchases.
+ */
+public class CourseStatsDTO {
+
+    private Long courseId;
+    private long enrollments;
+    private long completions;
+
+    public CourseStatsDTO() {
+    }
+
+    public CourseStatsDTO(Long courseId, long enrollments, long completions) {
+        this.courseId = courseId;
+        this.enrollments = enrollments;
+        this.completions = completions;
+    }
+
+    // Getters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public long getCompletions() {
+        return completions;
+    }
+
+    // Share of enrolled students who completed the course; 0 without enrollments
+    public double getCompletionRate() {
+        return enrollments > 0 ? (double) completions / enrollments : 0.0;
+    }
+
+    // Setters
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public void setCompletions(long completions) {
+        this.completions = completions;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseStatsDTO{" +
+                "courseId=" + courseId +
+                ", enrollments=" + enrollments +
+                ", completions=" + completions +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * A course as listed in a catalog table: everything but the description, whose length (in characters) is given
+ * instead. The description is only loaded by the single-course GET.
+ */
+public class CourseSummaryDTO {
+
+    private Long id;
+    private String title;
+    private Integer price;
+    private Long authorId;
+    private Integer descriptionLength; // Null when the course has no description
+
+    public CourseSummaryDTO() {
+    }
+
+    public CourseSummaryDTO(Long id, String title, Integer price, Long authorId, Integer descriptionLength) {
+        this.id = id;
+        this.title = title;
+        this.price = price;
+        this.authorId = authorId;
+        this.descriptionLength = descriptionLength;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Integer getPrice() {
+        return price;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public Integer getDescriptionLength() {
+        return descriptionLength;
+    }
+
+    // Setters
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setPrice(Integer price) {
+        this.price = price;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public void setDescriptionLength(Integer descriptionLength) {
+        this.descriptionLength = descriptionLength;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseSummaryDTO{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", price=" + price +
+                ", authorId=" + authorId +
+                ", descriptionLength=" + descriptionLength +
+                '}';
+    }
+}
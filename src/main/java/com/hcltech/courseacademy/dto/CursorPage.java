@@ -0,0 +1,73 @@
+package com.hcltech.courseacademy.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * The next page is requested with {@code afterId = nextCursor}; {@code nextCursor} is null on the last page.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Builds a page from a slice ordered by ID; the cursor is the ID of the last item when more rows follow
+    public static <T> CursorPage<T> fromSlice(Slice<T> slice, Function<T, Long> idExtractor) {
+        List<T> items = slice.getContent();
+        Long nextCursor = slice.hasNext() && !items.isEmpty()
+                ? idExtractor.apply(items.get(items.size() - 1))
+                : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Normalises a client supplied cursor; IDENTITY ids start at 1, so 0 means "from the beginning"
+    public static long normalizeCursor(Long afterId) {
+        return afterId != null && afterId > 0 ? afterId : 0L;
+    }
+
+    // Clamps a client supplied page size into [1, MAX_LIMIT]
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPage{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.hcltech.courseacademy.dto;
+
+/**
+ * Result of a streaming content upload: the module's new version (its ETag) and the byte length and SHA-256
+ * of the content as received, so the client can check that what was stored is what it sent.
+ */
+public class ModuleContentUploadDTO {
+
+    private Long moduleId;
+    private long version;
+    private long length;
+    private String sha256;
+
+    public ModuleContentUploadDTO() {
+    }
+
+    public ModuleContentUploadDTO(Long moduleId, long version, long length, String sha256) {
+        this.moduleId = moduleId;
+        this.version = version;
+        this.length = length;
+        this.sha256 = sha256;
+    }
+
+    // Getters
+    public Long getModuleId() {
+        return moduleId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    // Setters
+    public void setModuleId(Long moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setLength(long length) {
+        this.length = length;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    @Override
+    public String toString() {
+        return "ModuleContentUploadDTO{" +
+                "moduleId=" + moduleId +
+                ", version=" + version +
+                ", length=" + length +
+                ", sha256='" + sha256 + '\'' +
+                '}';
+    }
+}
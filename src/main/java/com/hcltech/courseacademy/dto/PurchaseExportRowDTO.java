@@ -0,0 +1,117 @@
+package com.hcltech.courseacademy.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * One purchase in an export. The student email and course title/price are only filled in for detailed exports;
+ * NDJSON leaves them out otherwise.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PurchaseExportRowDTO {
+
+    private Long id;
+    private Long studentId;
+    private Long courseId;
+    private LocalDate purchaseDate;
+    private Boolean completed;
+    private String studentEmail;
+    private String courseTitle;
+    private Integer coursePrice;
+
+    public PurchaseExportRowDTO() {
+    }
+
+    public PurchaseExportRowDTO(Long id, Long studentId, Long courseId, LocalDate purchaseDate, Boolean completed,
+                                String studentEmail, String courseTitle, Integer coursePrice) {
+        this.id = id;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.purchaseDate = purchaseDate;
+        this.completed = completed;
+        this.studentEmail = studentEmail;
+        this.courseTitle = courseTitle;
+        this.coursePrice = coursePrice;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public LocalDate getPurchaseDate() {
+        return purchaseDate;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public String getStudentEmail() {
+        return studentEmail;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public Integer getCoursePrice() {
+        return coursePrice;
+    }
+
+    // Setters
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void setPurchaseDate(LocalDate purchaseDate) {
+        this.purchaseDate = purchaseDate;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public void setStudentEmail(String studentEmail) {
+        this.studentEmail = studentEmail;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public void setCoursePrice(Integer coursePrice) {
+        this.coursePrice = coursePrice;
+    }
+
+    @Override
+    public String toString() {
+        return "PurchaseExportRowDTO{" +
+                "id=" + id +
+                ", studentId=" + studentId +
+                ", courseId=" + courseId +
+                ", purchaseDate=" + purchaseDate +
+                ", completed=" + completed +
+                ", studentEmail='" + studentEmail + '\'' +
+                ", courseTitle='" + courseTitle + '\'' +
+                ", coursePrice=" + coursePrice +
+                '}';
+    }
+}
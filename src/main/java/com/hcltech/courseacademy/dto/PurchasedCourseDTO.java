@@ -14,6 +14,8 @@ public class PurchasedCourseDTO {
     private LocalDate purchaseDate; // Changed to LocalDate
     private Boolean completed; // Use Boolean wrapper for DTO, allows null if not always present
 
+    private Long version; // Row version, also the ETag; on an update, the version the change was based on (null = unconditional)
+
     public PurchasedCourseDTO() {}
 
     public PurchasedCourseDTO(Long id, Long studentId, Long courseId, LocalDate purchaseDate, Boolean completed) {
@@ -24,6 +26,11 @@ public class PurchasedCourseDTO {
         this.completed = completed;
     }
 
+    public PurchasedCourseDTO(Long id, Long studentId, Long courseId, LocalDate purchaseDate, Boolean completed, Long version) {
+        this(id, studentId, courseId, purchaseDate, completed);
+        this.version = version;
+    }
+
     // Getters
     public Long getId() {
         return id;
@@ -66,6 +73,14 @@ public class PurchasedCourseDTO {
         this.completed = completed;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "PurchasedCourseDTO{" +
@@ -13,6 +13,7 @@ public class StudentDTO {
     private String email;
     private String firstName;
     private String lastName;
+    private Long version; // Row version, also the ETag; on an update, the version the change was based on (null = unconditional)
 
 
     public StudentDTO(Long id, String email, String firstName, String lastName) {
@@ -23,6 +24,11 @@ public class StudentDTO {
     }
 
 
+    public StudentDTO(Long id, String email, String firstName, String lastName, Long version) {
+        this(id, email, firstName, lastName);
+        this.version = version;
+    }
+
     public StudentDTO() {
     }
 
@@ -1,11 +1,16 @@
 package com.hcltech.courseacademy.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.HashSet; // For courses set initialization
 import java.util.Set;
 
 @Entity
 @Table(name = "authors") // Ensure your table name matches, default is 'Author'
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Author {
 
     @Id
@@ -21,8 +26,13 @@ public class Author {
     @Column(name = "email", nullable = false, unique = true) // Email should be unique and not null
     private String email;
 
+    @Version // Optimistic lock, bumped on every update; also the resource's ETag
+    @Column(nullable = false)
+    private long version;
+
 
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Course> courses = new HashSet<>();
 
 
@@ -65,6 +75,10 @@ public class Author {
         return email;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Set<Course> getCourses() {
         return courses;
     }
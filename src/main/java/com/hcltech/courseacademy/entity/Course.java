@@ -1,5 +1,8 @@
 package com.hcltech.courseacademy.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,6 +10,8 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read-mostly catalog data; second-level cache region per entity
 public class Course {
 
     @Id
@@ -22,11 +27,16 @@ public class Course {
     @Column(nullable = false)
     private Integer price;
 
+    @Version // Optimistic lock, bumped on every update; also the resource's ETag
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private Author author;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<CourseModule> modules = new ArrayList<>();
 
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY)
@@ -70,6 +80,10 @@ public class Course {
         return price;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Author getAuthor() {
         return author;
     }
@@ -1,10 +1,15 @@
 package com.hcltech.courseacademy.entity; // Corrected package name
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
 @Table(name = "modules")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class CourseModule {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,6 +21,10 @@ public class CourseModule {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    @Version // Optimistic lock, bumped on every update; also the resource's ETag
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course; // Ensure Course entity is in the correct package too
@@ -48,6 +57,10 @@ public class CourseModule {
         return content;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Course getCourse() {
         return course;
     }
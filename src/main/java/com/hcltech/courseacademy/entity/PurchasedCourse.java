@@ -18,6 +18,10 @@ public class PurchasedCourse {
     @Column(nullable = false)
     private boolean completed;
 
+    @Version // Optimistic lock, bumped on every update; also the resource's ETag
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
@@ -48,6 +52,7 @@ public class PurchasedCourse {
     public Student getStudent() { return student; }
     public Course getCourse() { return course; }
     public LocalDate getPurchaseDate() { return purchaseDate; }
+    public long getVersion() { return version; }
     public boolean isCompleted() { return completed; }
 
     // Setters
@@ -22,6 +22,10 @@ public class Student {
     @Column(nullable = false)
     private String lastName;
 
+    @Version // Optimistic lock, bumped on every update; also the resource's ETag
+    @Column(nullable = false)
+    private long version;
+
 
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<PurchasedCourse> purchasedCourses = new HashSet<>(); // Initialize to prevent NullPointerException
@@ -62,6 +66,10 @@ public class Student {
         return lastName;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Set<PurchasedCourse> getPurchasedCourses() {
         return purchasedCourses;
     }
@@ -4,7 +4,10 @@ import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
 import com.hcltech.courseacademy.entity.PurchasedCourse;
 import com.hcltech.courseacademy.entity.Student;
 import com.hcltech.courseacademy.entity.Course;
+import org.hibernate.proxy.HibernateProxy;
+
 import java.time.LocalDate; // Ensure LocalDate is used here
+import java.util.function.Function;
 
 public class PurchasedCourseMapper {
 
@@ -15,13 +18,26 @@ public class PurchasedCourseMapper {
         }
         return new PurchasedCourseDTO(
                 entity.getId(),
-                entity.getStudent() != null ? entity.getStudent().getId() : null,
-                entity.getCourse() != null ? entity.getCourse().getId() : null,
+                referencedId(entity.getStudent(), Student::getId),
+                referencedId(entity.getCourse(), Course::getId),
                 entity.getPurchaseDate(), // Direct use of LocalDate
-                entity.isCompleted()
+                entity.isCompleted(),
+                entity.getVersion()
         );
     }
 
+    // Reads the foreign-key ID of a ManyToOne without touching the association:
+    // an uninitialized proxy already carries its identifier, so no extra SELECT is issued per row.
+    private static <T> Long referencedId(T association, Function<T, Long> idGetter) {
+        if (association == null) {
+            return null;
+        }
+        if (association instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) association).getHibernateLazyInitializer().getIdentifier();
+        }
+        return idGetter.apply(association);
+    }
+
     // Converts DTO to Entity (for creation)
     // Note: This method typically doesn't set ID, Student, or Course directly
     // as those are usually fetched/set in the service based on IDs from DTO.
@@ -0,0 +1,210 @@
+package com.hcltech.courseacademy.perf;
+
+import com.hcltech.courseacademy.service.CourseStatsCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the perf profile's embedded database with a deterministic synthetic catalog: the same seed and volumes
+ * always produce the same rows, so query timings are comparable between runs and machines.
+ * <p>
+ * Rows are written with plain JDBC batches (one auto-committed batch per {@code perf.data.batch-size} rows), in
+ * foreign-key order, into empty tables. Every table draws from its own random stream, so changing one volume
+ * does not reshuffle the others. Nothing is generated if the authors table already has rows, e.g. on a restart
+ * against a file-based database.
+ */
+@Component
+@Profile("perf")
+@Order(0) // Before any other runner that might read the data
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Barbara", "Claude", "Donald", "Edsger", "Frances",
+            "Grace", "Hedy", "John", "Ken", "Leslie", "Margaret", "Niklaus", "Radia", "Tony"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Turing", "Liskov", "Shannon", "Knuth", "Dijkstra",
+            "Allen", "Hopper", "Lamarr", "Backus", "Thompson", "Lamport", "Hamilton", "Wirth", "Perlman", "Hoare"};
+    private static final String[] WORDS = {"java", "spring", "data", "query", "index", "cache", "thread", "stream",
+            "latency", "throughput", "design", "pattern", "service", "module", "testing", "deploy", "cloud",
+            "security", "network", "storage", "algorithm", "structure", "practice", "project", "advanced", "basics"};
+    private static final LocalDate FIRST_PURCHASE_DATE = LocalDate.of(2020, 1, 1);
+    private static final int PURCHASE_DATE_RANGE_DAYS = 5 * 365;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CourseStatsCounters courseStatsCounters;
+    private final long seed;
+    private final int batchSize;
+    private final int authors;
+    private final int courses;
+    private final int modules;
+    private final int students;
+    private final long purchases;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  CourseStatsCounters courseStatsCounters,
+                                  @Value("${perf.data.seed:42}") long seed,
+                                  @Value("${perf.data.batch-size:5000}") int batchSize,
+                                  @Value("${perf.data.authors:100}") int authors,
+                                  @Value("${perf.data.courses:2000}") int courses,
+                                  @Value("${perf.data.modules:20000}") int modules,
+                                  @Value("${perf.data.students:50000}") int students,
+                                  @Value("${perf.data.purchases:500000}") long purchases) {
+        if (courses > 0 && authors <= 0 || (modules > 0 || purchases > 0) && courses <= 0
+                || purchases > 0 && students <= 0) {
+            throw new IllegalArgumentException("perf.data volumes need parent rows: courses need authors, "
+                    + "modules and purchases need courses, purchases need students");
+        }
+        if (purchases > (long) students * courses) {
+            throw new IllegalArgumentException("perf.data.purchases (" + purchases + ") exceeds the number of distinct "
+                    + "student/course pairs (" + (long) students * courses + ")");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.courseStatsCounters = courseStatsCounters;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.authors = authors;
+        this.courses = courses;
+        this.modules = modules;
+        this.students = students;
+        this.purchases = purchases;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from authors", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("Perf database already populated ({} authors); skipping synthetic data generation.", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        generate();
+        logger.info("Generated {} authors, {} courses, {} modules, {} students, {} purchases in {} ms (seed {}).",
+                authors, courses, modules, students, purchases, (System.nanoTime() - start) / 1_000_000, seed);
+    }
+
+    void generate() {
+        long authorBase = insertAuthors();
+        long courseBase = insertCourses(authorBase);
+        insertModules(courseBase);
+        long studentBase = insertStudents();
+        insertPurchases(studentBase, courseBase);
+        courseStatsCounters.reconcile(); // The raw inserts above bypass the per-course counters
+    }
+
+    private long insertAuthors() {
+        SplittableRandom random = new SplittableRandom(seed);
+        insert("insert into authors (firstname, lastname, email) values (?, ?, ?)", authors, (statement, i) -> {
+            statement.setString(1, pick(random, FIRST_NAMES));
+            statement.setString(2, pick(random, LAST_NAMES));
+            statement.setString(3, "author" + i + "@perf.example.com");
+        });
+        return firstId("authors");
+    }
+
+    private long insertCourses(long authorBase) {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        insert("insert into courses (title, description, price, author_id) values (?, ?, ?, ?)", courses,
+                (statement, i) -> {
+                    statement.setString(1, "Course " + i + " " + words(random, 3)); // Unique by the index
+                    statement.setString(2, words(random, 20 + random.nextInt(180)));
+                    statement.setInt(3, 10 + random.nextInt(490));
+                    statement.setLong(4, authorBase + random.nextInt(authors));
+                });
+        return firstId("courses");
+    }
+
+    private void insertModules(long courseBase) {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        // Round-robin over the courses: every course gets modules/courses modules, in order
+        insert("insert into modules (title, content, course_id) values (?, ?, ?)", modules, (statement, i) -> {
+            statement.setString(1, "Module " + i / courses + " " + words(random, 2));
+            statement.setString(2, words(random, 50 + random.nextInt(350)));
+            statement.setLong(3, courseBase + i % courses);
+        });
+    }
+
+    private long insertStudents() {
+        SplittableRandom random = new SplittableRandom(seed + 3);
+        insert("insert into students (email, first_name, last_name) values (?, ?, ?)", students, (statement, i) -> {
+            statement.setString(1, "student" + i + "@perf.example.com");
+            statement.setString(2, pick(random, FIRST_NAMES));
+            statement.setString(3, pick(random, LAST_NAMES));
+        });
+        return firstId("students");
+    }
+
+    private void insertPurchases(long studentBase, long courseBase) {
+        SplittableRandom random = new SplittableRandom(seed + 4);
+        // Purchase k is the (k / students)-th purchase of student k % students; each student walks the courses
+        // from its own pseudo-random offset, so (student, course) pairs never repeat
+        insert("insert into purchased_courses (student_id, course_id, purchase_date, completed) values (?, ?, ?, ?)",
+                purchases, (statement, k) -> {
+                    long student = k % students;
+                    long nth = k / students;
+                    long course = Math.floorMod(mix(seed ^ student) + nth, (long) courses);
+                    statement.setLong(1, studentBase + student);
+                    statement.setLong(2, courseBase + course);
+                    statement.setDate(3, Date.valueOf(FIRST_PURCHASE_DATE.plusDays(random.nextInt(PURCHASE_DATE_RANGE_DAYS))));
+                    statement.setBoolean(4, random.nextInt(4) == 0);
+                });
+    }
+
+    private void insert(String sql, long rows, RowWriter rowWriter) {
+        for (long start = 0; start < rows; start += batchSize) {
+            long end = Math.min(start + batchSize, rows);
+            List<Long> batch = new ArrayList<>((int) (end - start));
+            for (long i = start; i < end; i++) {
+                batch.add(i);
+            }
+            jdbcTemplate.batchUpdate(sql, batch, batch.size(), rowWriter::write);
+        }
+    }
+
+    // Tables are empty before generation, so the IDENTITY ids of a table are contiguous from its first row
+    private long firstId(String table) {
+        Long id = jdbcTemplate.queryForObject("select min(id) from " + table, Long.class);
+        return id != null ? id : 1L;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(pick(random, WORDS));
+        }
+        return text.toString();
+    }
+
+    // SplitMix64 finalizer: a stable, well-spread hash of the student index
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, long index) throws SQLException;
+    }
+}
@@ -1,10 +1,42 @@
 package com.hcltech.courseacademy.repository;
 
+import com.hcltech.courseacademy.dto.AuthorDTO;
 import com.hcltech.courseacademy.entity.Author;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface AuthorRepository extends JpaRepository<Author,Long> {
 
+    // Set-based existence check used by bulk operations: returns the subset of ids that exist
+    @Query("select a.id from Author a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Conditional requests (ETag / If-None-Match / If-Match): the version alone, without loading the row into an entity
+    @Query("select a.version from Author a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Keyset pagination: rows strictly after the cursor, ordered by the pageable's sort (id)
+    Slice<Author> findByIdGreaterThan(Long afterId, Pageable pageable);
+
+    // Forward-only scan for streaming exports; DTO rows are never attached to the persistence context
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select new com.hcltech.courseacademy.dto.AuthorDTO(a.id, a.firstname, a.lastname, a.email, a.version) " +
+            "from Author a order by a.id")
+    Stream<AuthorDTO> streamAll();
+
 }
@@ -1,14 +1,77 @@
 package com.hcltech.courseacademy.repository;
 
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
 import com.hcltech.courseacademy.entity.CourseModule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface CourseModuleRepository extends JpaRepository<CourseModule, Long> {
 
     List<CourseModule> findByCourseId(Long courseId);
 
+    // Conditional requests (ETag / If-None-Match / If-Match): the version alone, without loading the row into an entity
+    @Query("select m.version from CourseModule m where m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // --- Read-only DTO projections: no entity hydration, no dirty-checking snapshot ---
+    String MODULE_DTO = "select new com.hcltech.courseacademy.dto.CourseModuleDTO(m.id, m.title, m.content, m.course.id, m.version) " +
+            "from CourseModule m ";
+
+    @Query(MODULE_DTO + "where m.id = :id")
+    Optional<CourseModuleDTO> findDtoById(@Param("id") Long id);
+
+    @Query(MODULE_DTO + "order by m.id")
+    List<CourseModuleDTO> findAllDtos();
+
+    // Module listing of a course (getModulesByCourseId): served from the query cache when the l2cache profile enables it.
+    // The cached rows are the projected values, so a hit needs neither SQL nor the entity cache
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(MODULE_DTO + "where m.course.id = :courseId order by m.id")
+    List<CourseModuleDTO> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    // Listing summaries: the content's length is computed in the database, the TEXT column itself is not read
+    String MODULE_SUMMARY = "select new com.hcltech.courseacademy.dto.CourseModuleSummaryDTO(m.id, m.title, m.course.id, length(m.content)) " +
+            "from CourseModule m ";
+
+    @Query(MODULE_SUMMARY + "order by m.id")
+    List<CourseModuleSummaryDTO> findAllSummaries();
+
+    @Query(MODULE_SUMMARY + "where m.id = :id")
+    Optional<CourseModuleSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    @Query(MODULE_SUMMARY + "where m.course.id = :courseId order by m.id")
+    List<CourseModuleSummaryDTO> findSummariesByCourseId(@Param("courseId") Long courseId);
+
+    // Keyset pagination: rows strictly after the cursor; the slice size comes from the pageable
+    @Query(MODULE_DTO + "where m.id > :afterId order by m.id")
+    Slice<CourseModuleDTO> findDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Forward-only scan for streaming exports; DTO rows are never attached to the persistence context
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(MODULE_DTO + "order by m.id")
+    Stream<CourseModuleDTO> streamAll();
+
+    // Streaming content uploads: bumps the version unless the row changed since it was read. The content itself is
+    // streamed into the row with JDBC in the same transaction; this bulk update is what makes Hibernate evict the
+    // module from the second-level cache and invalidate cached module queries (l2cache profile) for it.
+    @Modifying
+    @Query("update CourseModule m set m.version = m.version + 1 where m.id = :id and m.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") long version);
 }
@@ -1,14 +1,95 @@
 package com.hcltech.courseacademy.repository;
 
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseSummaryDTO;
 import com.hcltech.courseacademy.entity.Course;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course,Long> {
 
+    // Cacheable query: served from the query cache when the l2cache profile enables it
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Course> findByAuthorId(Long authorId);
 
+    @Query("select c.id from Course c where c.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    // Set-based existence check used by bulk operations: returns the subset of ids that exist
+    @Query("select c.id from Course c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Bulk import: which of the given titles are taken (titles are unique)
+    @Query("select c.title from Course c where c.title in :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    // Conditional requests (ETag / If-None-Match / If-Match): the version alone, without loading the row into an entity
+    @Query("select c.version from Course c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // --- Read-only DTO projections: no entity hydration, no dirty-checking snapshot ---
+    String COURSE_DTO = "select new com.hcltech.courseacademy.dto.CourseDTO(c.id, c.title, c.description, c.price, a.id, c.version) " +
+            "from Course c left join c.author a ";
+
+    @Query(COURSE_DTO + "where c.id = :id")
+    Optional<CourseDTO> findDtoById(@Param("id") Long id);
+
+    @Query(COURSE_DTO + "order by c.id")
+    List<CourseDTO> findAllDtos();
+
+    // Keyset pagination: rows strictly after the cursor; the slice size comes from the pageable
+    @Query(COURSE_DTO + "where c.id > :afterId order by c.id")
+    Slice<CourseDTO> findDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Forward-only scan for streaming exports; DTO rows are never attached to the persistence context
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(COURSE_DTO + "order by c.id")
+    Stream<CourseDTO> streamAll();
+
+    // Listing summaries: the description's length is computed in the database, the TEXT column itself is not read
+    @Query("select new com.hcltech.courseacademy.dto.CourseSummaryDTO(c.id, c.title, c.price, a.id, length(c.description)) " +
+            "from Course c left join c.author a order by c.id")
+    List<CourseSummaryDTO> findAllSummaries();
+
+    // Course page in one statement: one row per module in module order (a single row with null module columns when
+    // the course has none); the course and author columns repeat on every row
+    @Query("select c.id as id, c.title as title, c.description as description, c.price as price, c.version as version, " +
+            "a.id as authorId, a.firstname as authorFirstname, a.lastname as authorLastname, a.email as authorEmail, " +
+            "a.version as authorVersion, " +
+            "m.id as moduleId, m.title as moduleTitle, length(m.content) as moduleContentLength " +
+            "from Course c left join c.author a left join c.modules m where c.id = :id order by m.id")
+    List<CourseDetailRow> findDetailRowsById(@Param("id") Long id);
+
+    interface CourseDetailRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        Integer getPrice();
+        Long getVersion();
+        Long getAuthorId();
+        String getAuthorFirstname();
+        String getAuthorLastname();
+        String getAuthorEmail();
+        Long getAuthorVersion();
+        Long getModuleId();
+        String getModuleTitle();
+        Integer getModuleContentLength();
+    }
+
 }
@@ -1,11 +1,23 @@
 package com.hcltech.courseacademy.repository;
 
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
 import com.hcltech.courseacademy.entity.PurchasedCourse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional; // Import Optional
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface PurchasedCourseRepository extends JpaRepository<PurchasedCourse, Long> {
@@ -16,4 +28,41 @@ public interface PurchasedCourseRepository extends JpaRepository<PurchasedCourse
 
     // New method to check for duplicate purchases
     Optional<PurchasedCourse> findByStudentIdAndCourseId(Long studentId, Long courseId);
-}
\ No newline at end of file
+
+    // Enrollment count for a course, answered from the course_id index
+    long countByCourseId(Long courseId);
+
+    // Conditional requests (ETag / If-None-Match / If-Match): the version alone, without loading the row into an entity
+    @Query("select p.version from PurchasedCourse p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // --- Read-only DTO projections: no entity hydration, no dirty-checking snapshot ---
+    String PURCHASED_COURSE_DTO = "select new com.hcltech.courseacademy.dto.PurchasedCourseDTO(" +
+            "p.id, p.student.id, p.course.id, p.purchaseDate, p.completed, p.version) from PurchasedCourse p ";
+
+    @Query(PURCHASED_COURSE_DTO + "where p.id = :id")
+    Optional<PurchasedCourseDTO> findDtoById(@Param("id") Long id);
+
+    @Query(PURCHASED_COURSE_DTO + "order by p.id")
+    List<PurchasedCourseDTO> findAllDtos();
+
+    @Query(PURCHASED_COURSE_DTO + "where p.student.id = :studentId order by p.id")
+    List<PurchasedCourseDTO> findDtosByStudentId(@Param("studentId") Long studentId);
+
+    @Query(PURCHASED_COURSE_DTO + "where p.course.id = :courseId order by p.id")
+    List<PurchasedCourseDTO> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    // Existing purchases among a batch of candidate pairs; callers match exact (student, course) pairs in memory
+    @Query(PURCHASED_COURSE_DTO + "where p.student.id in :studentIds and p.course.id in :courseIds")
+    List<PurchasedCourseDTO> findDtosByStudentIdInAndCourseIdIn(@Param("studentIds") Collection<Long> studentIds,
+                                                               @Param("courseIds") Collection<Long> courseIds);
+
+    // Keyset pagination: rows strictly after the cursor; the slice size comes from the pageable
+    @Query(PURCHASED_COURSE_DTO + "where p.id > :afterId order by p.id")
+    Slice<PurchasedCourseDTO> findDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Forward-only scan for streaming exports; DTO rows are never attached to the persistence context
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(PURCHASED_COURSE_DTO + "order by p.id")
+    Stream<PurchasedCourseDTO> streamAll();
+}
@@ -1,14 +1,65 @@
 package com.hcltech.courseacademy.repository;
 
+import com.hcltech.courseacademy.dto.StudentDTO;
 import com.hcltech.courseacademy.entity.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student,Long> {
 
     Optional<Object> findByEmail(String email);
 
+    // Duplicate check on signup: a single-column probe of the unique email index, no entity hydration
+    boolean existsByEmail(String email);
+
+    // Feeds the in-memory email filter at startup
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "5000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select s.email from Student s")
+    Stream<String> streamAllEmails();
+
+    // Set-based existence check used by bulk operations: returns the subset of ids that exist
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Conditional requests (ETag / If-None-Match / If-Match): the version alone, without loading the row into an entity
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // --- Read-only DTO projections: no entity hydration, no dirty-checking snapshot ---
+    String STUDENT_DTO = "select new com.hcltech.courseacademy.dto.StudentDTO(s.id, s.email, s.firstName, s.lastName, s.version) " +
+            "from Student s ";
+
+    @Query(STUDENT_DTO + "where s.id = :id")
+    Optional<StudentDTO> findDtoById(@Param("id") Long id);
+
+    @Query(STUDENT_DTO + "where s.email = :email")
+    Optional<StudentDTO> findDtoByEmail(@Param("email") String email);
+
+    @Query(STUDENT_DTO + "order by s.id")
+    List<StudentDTO> findAllDtos();
+
+    // Keyset pagination: rows strictly after the cursor; the slice size comes from the pageable
+    @Query(STUDENT_DTO + "where s.id > :afterId order by s.id")
+    Slice<StudentDTO> findDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Forward-only scan for streaming exports; DTO rows are never attached to the persistence context
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(STUDENT_DTO + "order by s.id")
+    Stream<StudentDTO> streamAll();
+
 }
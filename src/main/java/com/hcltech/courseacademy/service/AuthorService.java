@@ -1,17 +1,24 @@
 package com.hcltech.courseacademy.service;
 
 import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.AuthorSummaryDTO;
 import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AuthorService {
     AuthorDTO createAuthor(AuthorDTO authorDTO);
     List<AuthorDTO> getAllAuthors();
+    CursorPage<AuthorDTO> getAllAuthors(Long afterId, int limit);
+    void streamAllAuthors(Consumer<AuthorDTO> consumer);
     AuthorDTO getAuthorById(Long id);
+    long getAuthorVersion(Long id);
     AuthorDTO updateAuthor(Long id, AuthorDTO authorDTO);
     void deleteAuthor(Long id);
     CourseDTO assignCourseToAuthor(Long courseId, Long authorId);
     CourseDTO removeCourseFromAuthor(Long courseId);
     List<CourseDTO> getCoursesByAuthor(Long authorId);
+    AuthorSummaryDTO getAuthorSummary(Long authorId);
 }
\ No newline at end of file
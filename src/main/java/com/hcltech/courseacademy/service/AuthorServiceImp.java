@@ -1,7 +1,10 @@
 package com.hcltech.courseacademy.service;
 
+import com.hcltech.courseacademy.config.CacheConfig;
 import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.AuthorSummaryDTO;
 import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.entity.Author;
 import com.hcltech.courseacademy.entity.Course;
 import com.hcltech.courseacademy.repository.AuthorRepository;
@@ -10,11 +13,19 @@ import com.hcltech.courseacademy.repository.CourseRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,11 +36,19 @@ public class AuthorServiceImp implements AuthorService {
 
     private final AuthorRepository authorRepository;
     private final CourseRepository courseRepository;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final CourseSearchIndex courseSearchIndex;
+    private final AuthorSummaryView authorSummaryView;
 
     @Autowired
-    public AuthorServiceImp(AuthorRepository authorRepository, CourseRepository courseRepository) {
+    public AuthorServiceImp(AuthorRepository authorRepository, CourseRepository courseRepository,
+                            CatalogCacheEvictor catalogCacheEvictor, CourseSearchIndex courseSearchIndex,
+                            AuthorSummaryView authorSummaryView) {
         this.authorRepository = authorRepository;
         this.courseRepository = courseRepository;
+        this.catalogCacheEvictor = catalogCacheEvictor;
+        this.courseSearchIndex = courseSearchIndex;
+        this.authorSummaryView = authorSummaryView;
     }
 
     @Override
@@ -57,6 +76,29 @@ public class AuthorServiceImp implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorDTO> getAllAuthors(Long afterId, int limit) {
+        logger.info("Service: Attempting to retrieve up to {} authors after ID {}.", limit, afterId);
+        CursorPage<AuthorDTO> page = CursorPage.fromSlice(
+                authorRepository.findByIdGreaterThan(CursorPage.normalizeCursor(afterId),
+                                PageRequest.of(0, CursorPage.normalizeLimit(limit), Sort.by("id")))
+                        .map(this::convertToAuthorDTO),
+                AuthorDTO::getId);
+        logger.info("Service: Retrieved {} authors, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // The stream's cursor must stay open while the caller consumes it
+    public void streamAllAuthors(Consumer<AuthorDTO> consumer) {
+        logger.info("Service: Streaming all authors.");
+        try (Stream<AuthorDTO> authors = authorRepository.streamAll()) {
+            authors.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id")
     public AuthorDTO getAuthorById(Long id) {
         logger.info("Service: Attempting to retrieve author with ID: {}", id);
         Author author = authorRepository.findById(id)
@@ -66,32 +108,50 @@ public class AuthorServiceImp implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long getAuthorVersion(Long id) {
+        return authorRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Author not found with ID: " + id));
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.AUTHORS, key = "#id")
     public AuthorDTO updateAuthor(Long id, AuthorDTO authorDTO) {
         logger.info("Service: Attempting to update author with ID: {}", id);
         Author existingAuthor = authorRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Author not found with ID: " + id));
+        VersionCheck.verify(Author.class, id, authorDTO.getVersion(), existingAuthor.getVersion());
 
         // Update fields from DTO to existing entity
         existingAuthor.setFirstname(authorDTO.getFirstname());
         existingAuthor.setLastname(authorDTO.getLastname());
         existingAuthor.setEmail(authorDTO.getEmail()); // Ensure email is also updated
 
-        Author updatedAuthor = authorRepository.save(existingAuthor);
+        Author updatedAuthor = authorRepository.saveAndFlush(existingAuthor); // Flushed, so the new version is known
         logger.info("Service: Author with ID {} updated successfully.", id);
         return convertToAuthorDTO(updatedAuthor);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.COURSES_BY_AUTHOR, key = "#id")
+    })
     public void deleteAuthor(Long id) {
         logger.info("Service: Attempting to delete author with ID: {}", id);
         if (!authorRepository.existsById(id)) {
             throw new NoSuchElementException("Author not found with ID: " + id);
         }
+        // Author.courses cascades the delete, so the author's cached and indexed courses go as well
+        List<Long> courseIds = courseRepository.findIdsByAuthorId(id);
+        courseIds.forEach(catalogCacheEvictor::evictCourse);
+        courseIds.forEach(courseSearchIndex::deleteCourseAfterCommit);
         authorRepository.deleteById(id);
         logger.info("Service: Author with ID {} deleted from database.", id);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.COURSES, key = "#courseId")
     public CourseDTO assignCourseToAuthor(Long courseId, Long authorId) {
         logger.info("Service: Attempting to assign course ID {} to author ID {}.", courseId, authorId);
         Course course = courseRepository.findById(courseId)
@@ -105,13 +165,17 @@ public class AuthorServiceImp implements AuthorService {
             return convertToCourseDTO(course); // Or throw IllegalArgumentException if re-assignment is not allowed
         }
 
+        Long previousAuthorId = course.getAuthor() != null ? course.getAuthor().getId() : null;
         course.setAuthor(author);
-        Course updatedCourse = courseRepository.save(course);
+        Course updatedCourse = courseRepository.saveAndFlush(course);
+        catalogCacheEvictor.evictCoursesByAuthor(previousAuthorId);
+        catalogCacheEvictor.evictCoursesByAuthor(authorId);
         logger.info("Service: Course ID {} assigned to author ID {} successfully.", courseId, authorId);
         return convertToCourseDTO(updatedCourse);
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.COURSES, key = "#courseId")
     public CourseDTO removeCourseFromAuthor(Long courseId) {
         logger.info("Service: Attempting to remove author from course ID {}.", courseId);
         Course course = courseRepository.findById(courseId)
@@ -121,13 +185,16 @@ public class AuthorServiceImp implements AuthorService {
             return convertToCourseDTO(course);
         }
 
+        Long previousAuthorId = course.getAuthor().getId();
         course.setAuthor(null); // Set the author to null
-        Course updatedCourse = courseRepository.save(course);
+        Course updatedCourse = courseRepository.saveAndFlush(course);
+        catalogCacheEvictor.evictCoursesByAuthor(previousAuthorId);
         logger.info("Service: Author removed from course ID {} successfully.", courseId);
         return convertToCourseDTO(updatedCourse);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSES_BY_AUTHOR, key = "#authorId")
     public List<CourseDTO> getCoursesByAuthor(Long authorId) {
         logger.info("Service: Attempting to retrieve courses for author ID {}.", authorId);
         // First, check if the author exists
@@ -143,22 +210,38 @@ public class AuthorServiceImp implements AuthorService {
                 .collect(Collectors.toList());
     }
 
+    // Served from the author_summary view, so the cost does not grow with the author's courses or purchases
+    @Override
+    public AuthorSummaryDTO getAuthorSummary(Long authorId) {
+        logger.info("Service: Attempting to retrieve summary for author ID {}.", authorId);
+        return authorSummaryView.find(authorId).orElseGet(() -> {
+            if (!authorRepository.existsById(authorId)) {
+                throw new NoSuchElementException("Author not found with ID: " + authorId);
+            }
+            logger.info("Service: No summary yet for author ID {}; computing it now.", authorId); // Created since the last refresh
+            return authorSummaryView.refresh(authorId);
+        });
+    }
+
     // --- Helper methods for DTO-Entity conversion ---
-    private AuthorDTO convertToAuthorDTO(Author author) {
+    // Package-private so the JMH benchmarks can measure them in isolation
+    AuthorDTO convertToAuthorDTO(Author author) {
         AuthorDTO authorDTO = new AuthorDTO();
         authorDTO.setId(author.getId());
         authorDTO.setFirstname(author.getFirstname());
         authorDTO.setLastname(author.getLastname());
         authorDTO.setEmail(author.getEmail());
+        authorDTO.setVersion(author.getVersion());
         return authorDTO;
     }
 
-    private CourseDTO convertToCourseDTO(Course course) {
+    CourseDTO convertToCourseDTO(Course course) {
         CourseDTO courseDTO = new CourseDTO();
         courseDTO.setId(course.getId());
         courseDTO.setTitle(course.getTitle());
         courseDTO.setDescription(course.getDescription());
         courseDTO.setPrice(course.getPrice());
+        courseDTO.setVersion(course.getVersion());
         // Set authorId if author is present
         if (course.getAuthor() != null) {
             courseDTO.setAuthorId(course.getAuthor().getId());
@@ -0,0 +1,109 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.dto.AuthorSummaryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.util.Optional;
+
+/**
+ * Materialized per-author summary in the author_summary table: course count, distinct students and revenue.
+ * <p>
+ * Distinct students cannot be maintained with counters (a purchase only adds a student if they bought none of the
+ * author's other courses), so the whole table is recomputed with one set-based upsert, at startup and then every
+ * author-summary.refresh-interval. Readers keep seeing the previous rows until the refresh commits. An author
+ * created since the last refresh is summarized on first read, with queries bounded by that author's own rows; the
+ * bulk refresh updates such a row rather than inserting it again, so the two can run at the same time.
+ */
+@Component
+public class AuthorSummaryView {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorSummaryView.class);
+
+    private static final String FIND_SQL =
+            "select author_id, course_count, student_count, revenue, refreshed_at from author_summary where author_id = ?";
+    // Every author's figures as (author_id, course_count, student_count, revenue)
+    private static final String SUMMARY_SELECT =
+            "select a.id as author_id, coalesce(c.course_count, 0) as course_count, "
+                    + "coalesce(p.student_count, 0) as student_count, coalesce(p.revenue, 0) as revenue from authors a "
+                    + "left join (select author_id, count(*) as course_count from courses group by author_id) c "
+                    + "on c.author_id = a.id "
+                    + "left join (select c.author_id, count(distinct p.student_id) as student_count, sum(c.price) as revenue "
+                    + "from purchased_courses p join courses c on c.id = p.course_id group by c.author_id) p "
+                    + "on p.author_id = a.id";
+    // Rows inserted meanwhile by refresh(authorId) are updated instead of failing the statement on the primary key
+    private static final String REFRESH_ALL_POSTGRESQL_SQL =
+            "insert into author_summary (author_id, course_count, student_count, revenue, refreshed_at) "
+                    + "select s.author_id, s.course_count, s.student_count, s.revenue, current_timestamp "
+                    + "from (" + SUMMARY_SELECT + ") s "
+                    + "on conflict (author_id) do update set course_count = excluded.course_count, "
+                    + "student_count = excluded.student_count, revenue = excluded.revenue, refreshed_at = excluded.refreshed_at";
+    // H2 (perf profile) has no conflict target for on conflict, and its MERGE fails like a plain insert when a row
+    // appears meanwhile: rows for new authors are inserted first, where a duplicate is skipped, and MERGE only updates
+    private static final String INSERT_MISSING_SQL =
+            "insert into author_summary (author_id, refreshed_at) select id, current_timestamp from authors "
+                    + "on conflict do nothing";
+    private static final String REFRESH_ALL_MERGE_SQL =
+            "merge into author_summary t using (" + SUMMARY_SELECT + ") s on t.author_id = s.author_id "
+                    + "when matched then update set course_count = s.course_count, student_count = s.student_count, "
+                    + "revenue = s.revenue, refreshed_at = current_timestamp";
+    private static final String REFRESH_ONE_SQL =
+            "insert into author_summary (author_id, course_count, student_count, revenue, refreshed_at) "
+                    + "select ?, (select count(*) from courses where author_id = ?), "
+                    + "count(distinct p.student_id), coalesce(sum(c.price), 0), current_timestamp "
+                    + "from purchased_courses p join courses c on c.id = p.course_id where c.author_id = ? "
+                    + "on conflict do nothing";
+
+    private static final RowMapper<AuthorSummaryDTO> ROW_MAPPER = (rs, rowNum) -> new AuthorSummaryDTO(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getTimestamp(5).toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgresql;
+
+    public AuthorSummaryView(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        String database = JdbcUtils.commonDatabaseName(JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName));
+        this.postgresql = "PostgreSQL".equals(database);
+    }
+
+    // One primary-key lookup, whatever the number of courses or purchases behind it
+    public Optional<AuthorSummaryDTO> find(Long authorId) {
+        return jdbcTemplate.query(FIND_SQL, ROW_MAPPER, authorId).stream().findFirst();
+    }
+
+    // Summarizes one author now; the caller has checked that the author exists
+    @Transactional(propagation = Propagation.MANDATORY)
+    public AuthorSummaryDTO refresh(Long authorId) {
+        jdbcTemplate.update(REFRESH_ONE_SQL, authorId, authorId, authorId);
+        return find(authorId).orElseThrow(IllegalStateException::new);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${author-summary.refresh-interval:PT5M}",
+            initialDelayString = "${author-summary.refresh-interval:PT5M}")
+    @Transactional
+    public void refreshAll() {
+        long start = System.nanoTime();
+        // Deleted authors' rows went with them (on delete cascade)
+        int authors;
+        if (postgresql) {
+            authors = jdbcTemplate.update(REFRESH_ALL_POSTGRESQL_SQL);
+        } else {
+            jdbcTemplate.update(INSERT_MISSING_SQL);
+            authors = jdbcTemplate.update(REFRESH_ALL_MERGE_SQL);
+        }
+        logger.info("Author summary refreshed for {} authors in {} ms.", authors, (System.nanoTime() - start) / 1_000_000);
+    }
+}
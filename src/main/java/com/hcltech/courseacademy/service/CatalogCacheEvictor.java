@@ -0,0 +1,73 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.config.CacheConfig;
+import com.hcltech.courseacademy.entity.Author;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+
+/**
+ * Evicts catalog cache entries whose keys are only known inside a write method
+ * (e.g. the author a course belonged to before it was reassigned), where @CacheEvict cannot reach.
+ * Inside a transaction the eviction takes effect after commit, like @CacheEvict (see CacheConfig).
+ */
+@Component
+public class CatalogCacheEvictor {
+
+    private static final String AUTHOR_COURSES_ROLE = Author.class.getName() + ".courses";
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CatalogCacheEvictor(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictCourse(Long courseId) {
+        evict(CacheConfig.COURSES, courseId);
+    }
+
+    public void evictCoursesByAuthor(Long authorId) {
+        evict(CacheConfig.COURSES_BY_AUTHOR, authorId);
+    }
+
+    // Courses inserted with plain JDBC (the import) bypass Hibernate, so its second-level cache (l2cache profile)
+    // would keep the authors' course collections and every cached query over courses and modules as they were
+    public void evictInsertedCourses(Collection<Long> authorIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictSecondLevel(authorIds);
+                }
+            });
+        } else {
+            evictSecondLevel(authorIds);
+        }
+    }
+
+    private void evictSecondLevel(Collection<Long> authorIds) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long authorId : authorIds) {
+            cache.evictCollectionData(AUTHOR_COURSES_ROLE, authorId);
+        }
+        cache.evictQueryRegions();
+    }
+
+    private void evict(String cacheName, Long key) {
+        if (key == null) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.hcltech.courseacademy.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe counting Bloom filter over strings, with 4-bit counters packed 16 to a long.
+ * <p>
+ * mightContain() never returns false for an element that was added and not removed; it returns true for an
+ * absent element with roughly the configured probability. Counters saturate at 15 and are then never
+ * decremented, so removals can only leave false positives behind, never false negatives.
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long MAX_COUNT = 0xF;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashFunctions;
+    private final long capacity;
+    private final AtomicLong nonZeroCounters = new AtomicLong();
+    private final AtomicLong elements = new AtomicLong();
+
+    CountingBloomFilter(long expectedElements, double falsePositiveRate) {
+        if (expectedElements <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected elements must be positive and the false-positive rate in (0, 1).");
+        }
+        // Standard sizing: m = -n ln p / (ln 2)^2 counters, k = m/n ln 2 hash functions
+        long m = (long) Math.ceil(-expectedElements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (m + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(wordCount);
+        this.counters = (long) wordCount * COUNTERS_PER_WORD;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters / expectedElements * Math.log(2)));
+        this.capacity = expectedElements;
+    }
+
+    void add(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1; // Odd step, so the k probes are distinct
+        for (int i = 0; i < hashFunctions; i++) {
+            increment(index(h1, h2, i));
+        }
+        elements.incrementAndGet();
+    }
+
+    void remove(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            decrement(index(h1, h2, i));
+        }
+        elements.decrementAndGet();
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            if (count(index(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Probability that an absent element is reported as present, from the current share of non-zero counters
+    double estimatedFalsePositiveRate() {
+        return Math.pow((double) nonZeroCounters.get() / counters, hashFunctions);
+    }
+
+    long elements() {
+        return elements.get();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private long index(long h1, long h2, int i) {
+        return Math.floorMod(h1 + i * h2, counters);
+    }
+
+    private long count(long index) {
+        return (words.get((int) (index / COUNTERS_PER_WORD)) >>> shift(index)) & MAX_COUNT;
+    }
+
+    private void increment(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT) {
+                return; // Saturated
+            }
+            if (words.compareAndSet(word, current, current + (1L << shift))) {
+                if (count == 0) {
+                    nonZeroCounters.incrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private void decrement(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == 0 || count == MAX_COUNT) {
+                return; // Never added, or saturated: the true count is unknown, keep it
+            }
+            if (words.compareAndSet(word, current, current - (1L << shift))) {
+                if (count == 1) {
+                    nonZeroCounters.decrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * 4;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with a SplitMix64 mix for avalanche
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
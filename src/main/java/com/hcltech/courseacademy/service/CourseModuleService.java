@@ -1,15 +1,27 @@
 package com.hcltech.courseacademy.service;
 
 import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
+import com.hcltech.courseacademy.dto.ModuleContentUploadDTO;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseModuleService {
 
     CourseModuleDTO createModule(CourseModuleDTO moduleDTO);
     CourseModuleDTO getModuleById(Long id);
+    long getModuleVersion(Long id);
+    ModuleContentStore.StoredContent getModuleContent(Long id);
+    ModuleContentUploadDTO uploadModuleContent(Long id, InputStream content, Long expectedVersion, String expectedSha256);
     List<CourseModuleDTO> getAllModules();
+    List<CourseModuleSummaryDTO> getAllModuleSummaries();
+    CursorPage<CourseModuleDTO> getAllModules(Long afterId, int limit);
+    void streamAllModules(Consumer<CourseModuleDTO> consumer);
     CourseModuleDTO updateModule(Long id, CourseModuleDTO moduleDTO);
     void deleteModule(Long id);
     List<CourseModuleDTO> getModulesByCourseId(Long courseId); // New method to find modules for a specific course
+    List<CourseModuleSummaryDTO> getModuleSummariesByCourseId(Long courseId);
 }
\ No newline at end of file
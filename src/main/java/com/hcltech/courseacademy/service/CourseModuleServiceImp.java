@@ -1,29 +1,58 @@
 package com.hcltech.courseacademy.service;
 
 import com.hcltech.courseacademy.dto.CourseModuleDTO; // Updated DTO import
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
+import com.hcltech.courseacademy.dto.ModuleContentUploadDTO;
 import com.hcltech.courseacademy.entity.Course;
 import com.hcltech.courseacademy.entity.CourseModule; // Updated Entity import
 import com.hcltech.courseacademy.repository.CourseRepository;
 import com.hcltech.courseacademy.repository.CourseModuleRepository; // Updated Repository import
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CourseModuleServiceImp implements CourseModuleService { // Updated class name and interface
 
     private static final Logger logger = LoggerFactory.getLogger(CourseModuleServiceImp.class); // Updated logger name
+    // The version was bumped through JPA first (incrementVersion), which also checked it
+    private static final String UPDATE_CONTENT_SQL = "update modules set content = ? where id = ?";
     private final CourseModuleRepository courseModuleRepository; // Updated repository field name
     private final CourseRepository courseRepository;
+    private final CourseSearchIndex courseSearchIndex;
+    private final ModuleContentStore moduleContentStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate uploadTransaction;
 
-    public CourseModuleServiceImp(CourseModuleRepository courseModuleRepository, CourseRepository courseRepository) { // Updated constructor parameter
+    public CourseModuleServiceImp(CourseModuleRepository courseModuleRepository, CourseRepository courseRepository,
+                                  CourseSearchIndex courseSearchIndex, ModuleContentStore moduleContentStore,
+                                  JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) { // Updated constructor parameter
         this.courseModuleRepository = courseModuleRepository; // Updated field assignment
         this.courseRepository = courseRepository;
+        this.courseSearchIndex = courseSearchIndex;
+        this.moduleContentStore = moduleContentStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.uploadTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -47,50 +76,136 @@ public class CourseModuleServiceImp implements CourseModuleService { // Updated
         CourseModule savedModule = courseModuleRepository.save(courseModule); // Updated repository call and entity type
         logger.info("Successfully created module with ID: {}", savedModule.getId());
 
-        return new CourseModuleDTO( // Updated DTO type
+        CourseModuleDTO createdModule = new CourseModuleDTO( // Updated DTO type
                 savedModule.getId(),
                 savedModule.getTitle(),
                 savedModule.getContent(),
-                savedModule.getCourse().getId()
+                savedModule.getCourse().getId(),
+                savedModule.getVersion()
         );
+        courseSearchIndex.indexModuleAfterCommit(createdModule);
+        moduleContentStore.writeAfterCommit(createdModule);
+        return createdModule;
     }
 
     @Override
     public CourseModuleDTO getModuleById(Long id) { // Updated DTO type
         logger.info("Attempting to retrieve module with ID: {}", id);
-        CourseModule courseModule = courseModuleRepository.findById(id) // Updated repository call and entity type
+        CourseModuleDTO courseModule = courseModuleRepository.findDtoById(id) // Projection: no managed entity for a read
                 .orElseThrow(() -> {
                     logger.warn("Module not found with ID: {}", id);
                     return new NoSuchElementException("Module not found with ID: " + id);
                 });
         logger.info("Successfully retrieved module with ID: {}", id);
+        return courseModule;
+    }
 
-        return new CourseModuleDTO( // Updated DTO type
-                courseModule.getId(),
-                courseModule.getTitle(),
-                courseModule.getContent(),
-                courseModule.getCourse().getId()
-        );
+    @Override
+    public long getModuleVersion(Long id) {
+        return courseModuleRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Module not found with ID: " + id));
+    }
+
+    @Override
+    public ModuleContentStore.StoredContent getModuleContent(Long id) {
+        logger.info("Attempting to retrieve content of module with ID: {}", id);
+        try {
+            ModuleContentStore.StoredContent content = moduleContentStore.open(id);
+            logger.info("Content of module with ID {} is {} bytes (version {}).", id, content.getLength(), content.getVersion());
+            return content;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Not @Transactional: the body is staged to a file first, so no connection is held while the client is sending
+    @Override
+    public ModuleContentUploadDTO uploadModuleContent(Long id, InputStream content, Long expectedVersion, String expectedSha256) {
+        logger.info("Attempting to upload content of module with ID: {}", id);
+        VersionCheck.verify(CourseModule.class, id, expectedVersion, getModuleVersion(id)); // Before reading the body
+        ModuleContentStore.StagedContent staged;
+        try {
+            staged = moduleContentStore.stage(id, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(staged.getSha256())) {
+                throw new IllegalArgumentException("Content SHA-256 " + staged.getSha256() + " does not match the expected "
+                        + expectedSha256 + "; nothing was stored.");
+            }
+            CourseModuleDTO module = uploadTransaction.execute(status -> {
+                CourseModuleSummaryDTO summary = courseModuleRepository.findSummaryById(id)
+                        .orElseThrow(() -> new NoSuchElementException("Module not found with ID: " + id));
+                long version = getModuleVersion(id);
+                VersionCheck.verify(CourseModule.class, id, expectedVersion, version);
+                if (courseModuleRepository.incrementVersion(id, version) == 0) {
+                    throw new ObjectOptimisticLockingFailureException(CourseModule.class, id); // Changed since the version check
+                }
+                writeContent(id, staged.getPath());
+                return new CourseModuleDTO(id, summary.getTitle(), null, summary.getCourseId(), version + 1);
+            });
+            courseSearchIndex.indexModuleAfterCommit(module, staged.getPath()); // Committed: both apply right away
+            moduleContentStore.publish(staged, id, module.getVersion());
+            logger.info("Stored {} content bytes for module with ID {} (version {}, SHA-256 {}).",
+                    staged.getLength(), id, module.getVersion(), staged.getSha256());
+            return new ModuleContentUploadDTO(id, module.getVersion(), staged.getLength(), staged.getSha256());
+        } finally {
+            moduleContentStore.discard(staged);
+        }
+    }
+
+    // One statement, with the staged file bound as a character stream: the row is written once, and the driver reads
+    // the text from the file while binding it instead of this method assembling it into one String
+    private void writeContent(Long id, Path file) {
+        jdbcTemplate.execute(UPDATE_CONTENT_SQL, (PreparedStatementCallback<Integer>) statement -> {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                statement.setCharacterStream(1, reader);
+                statement.setLong(2, id);
+                return statement.executeUpdate();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     @Override
     public List<CourseModuleDTO> getAllModules() { // Updated DTO type
         logger.info("Attempting to retrieve all modules.");
-        List<CourseModule> courseModules = courseModuleRepository.findAll(); // Updated entity type
-
-        List<CourseModuleDTO> courseModuleDTOs = new ArrayList<>(); // Updated DTO type
-        for (CourseModule courseModule : courseModules) { // Updated entity type
-            courseModuleDTOs.add(new CourseModuleDTO( // Updated DTO type
-                    courseModule.getId(),
-                    courseModule.getTitle(),
-                    courseModule.getContent(),
-                    courseModule.getCourse().getId()
-            ));
-        }
-        logger.info("Retrieved {} modules.", courseModules.size());
+        List<CourseModuleDTO> courseModuleDTOs = courseModuleRepository.findAllDtos();
+        logger.info("Retrieved {} modules.", courseModuleDTOs.size());
         return courseModuleDTOs;
     }
 
+    @Override
+    public List<CourseModuleSummaryDTO> getAllModuleSummaries() {
+        logger.info("Attempting to retrieve all module summaries.");
+        List<CourseModuleSummaryDTO> summaries = courseModuleRepository.findAllSummaries();
+        logger.info("Retrieved {} module summaries.", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseModuleDTO> getAllModules(Long afterId, int limit) {
+        logger.info("Attempting to retrieve up to {} modules after ID {}.", limit, afterId);
+        CursorPage<CourseModuleDTO> page = CursorPage.fromSlice(
+                courseModuleRepository.findDtosAfter(CursorPage.normalizeCursor(afterId),
+                        PageRequest.of(0, CursorPage.normalizeLimit(limit))),
+                CourseModuleDTO::getId);
+        logger.info("Retrieved {} modules, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // The stream's cursor must stay open while the caller consumes it
+    public void streamAllModules(Consumer<CourseModuleDTO> consumer) {
+        logger.info("Streaming all modules.");
+        try (Stream<CourseModuleDTO> courseModules = courseModuleRepository.streamAll()) {
+            courseModules.forEach(consumer);
+        }
+    }
+
     @Override
     @Transactional
     public CourseModuleDTO updateModule(Long id, CourseModuleDTO courseModuleDTO) { // Updated DTO type
@@ -100,6 +215,7 @@ public class CourseModuleServiceImp implements CourseModuleService { // Updated
                     logger.warn("Module not found for update with ID: {}", id);
                     return new NoSuchElementException("Module not found with ID: " + id);
                 });
+        VersionCheck.verify(CourseModule.class, id, courseModuleDTO.getVersion(), existingModule.getVersion());
 
         existingModule.setTitle(courseModuleDTO.getTitle());
         existingModule.setContent(courseModuleDTO.getContent());
@@ -114,15 +230,19 @@ public class CourseModuleServiceImp implements CourseModuleService { // Updated
             existingModule.setCourse(newCourse);
         }
 
-        CourseModule updatedModule = courseModuleRepository.save(existingModule); // Updated repository call and entity type
+        CourseModule updatedModule = courseModuleRepository.saveAndFlush(existingModule); // Flushed, so the new version is known
         logger.info("Successfully updated module with ID: {}", updatedModule.getId());
 
-        return new CourseModuleDTO( // Updated DTO type
+        CourseModuleDTO module = new CourseModuleDTO( // Updated DTO type
                 updatedModule.getId(),
                 updatedModule.getTitle(),
                 updatedModule.getContent(),
-                updatedModule.getCourse().getId()
+                updatedModule.getCourse().getId(),
+                updatedModule.getVersion()
         );
+        courseSearchIndex.indexModuleAfterCommit(module);
+        moduleContentStore.writeAfterCommit(module);
+        return module;
     }
 
     @Override
@@ -134,24 +254,34 @@ public class CourseModuleServiceImp implements CourseModuleService { // Updated
             throw new NoSuchElementException("Module not found with ID: " + id);
         }
         courseModuleRepository.deleteById(id); // Updated repository call
+        courseSearchIndex.deleteModuleAfterCommit(id);
+        moduleContentStore.deleteAfterCommit(id);
         logger.info("Successfully deleted module with ID: {}", id);
     }
 
     @Override
     public List<CourseModuleDTO> getModulesByCourseId(Long courseId) { // Updated DTO type
         logger.info("Attempting to retrieve modules for course ID: {}", courseId);
-        List<CourseModule> courseModules = courseModuleRepository.findByCourseId(courseId); // Updated repository call and entity type
-
-        List<CourseModuleDTO> courseModuleDTOs = new ArrayList<>(); // Updated DTO type
-        for (CourseModule courseModule : courseModules) { // Updated entity type
-            courseModuleDTOs.add(new CourseModuleDTO( // Updated DTO type
-                    courseModule.getId(),
-                    courseModule.getTitle(),
-                    courseModule.getContent(),
-                    courseModule.getCourse().getId()
-            ));
-        }
-        logger.info("Retrieved {} modules for course ID: {}.", courseModules.size(), courseId);
+        List<CourseModuleDTO> courseModuleDTOs = courseModuleRepository.findDtosByCourseId(courseId);
+        requireCourseIfEmpty(courseId, courseModuleDTOs);
+        logger.info("Retrieved {} modules for course ID: {}.", courseModuleDTOs.size(), courseId);
         return courseModuleDTOs;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<CourseModuleSummaryDTO> getModuleSummariesByCourseId(Long courseId) {
+        logger.info("Attempting to retrieve module summaries for course ID: {}", courseId);
+        List<CourseModuleSummaryDTO> summaries = courseModuleRepository.findSummariesByCourseId(courseId);
+        requireCourseIfEmpty(courseId, summaries);
+        logger.info("Retrieved {} module summaries for course ID: {}.", summaries.size(), courseId);
+        return summaries;
+    }
+
+    // An empty listing is either a course without modules or no course at all; only then is the course looked up
+    private void requireCourseIfEmpty(Long courseId, List<?> modules) {
+        if (modules.isEmpty() && !courseRepository.existsById(courseId)) {
+            logger.warn("Course not found with ID: {} for module listing.", courseId);
+            throw new NoSuchElementException("Course not found with ID: " + courseId);
+        }
+    }
+}
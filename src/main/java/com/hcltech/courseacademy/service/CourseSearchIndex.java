@@ -0,0 +1,465 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseSearchHitDTO;
+import com.hcltech.courseacademy.dto.CourseSearchResultDTO;
+import com.hcltech.courseacademy.repository.CourseModuleRepository;
+import com.hcltech.courseacademy.repository.CourseRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.Lock;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over course titles/descriptions and module titles/content, ranked with BM25.
+ * <p>
+ * Every course and every module is one document; a module document carries its course's ID, so deleting a course
+ * removes its modules' documents as well. The index is rebuilt from the database once the application is ready and
+ * then kept current by the write paths in {@link CourseServiceImp} and {@link CourseModuleServiceImp}, after their
+ * transaction commits. Searches see those changes within a second (near-real-time reopen). The index is local to
+ * each instance; rows written outside the services show up after the next rebuild.
+ * <p>
+ * The index lives in memory-mapped files under {@code search.index.directory}, so a large catalog stays off the heap
+ * in the OS page cache. A rebuild fills a fresh generation directory while the current one keeps serving searches and
+ * taking writes; rows written meanwhile are re-read from the database into the new generation, which is then swapped
+ * in atomically. Generations are derived data: each start builds a new one, and abandoned ones are deleted.
+ */
+@Component
+public class CourseSearchIndex implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    static final String KEY = "key";
+    static final String TYPE = "type";
+    static final String COURSE_ID = "courseId";
+    static final String MODULE_ID = "moduleId";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String CONTENT = "content";
+    private static final String COURSE_KEY_PREFIX = "course:";
+    private static final String MODULE_KEY_PREFIX = "module:";
+
+    // A title match outranks the same term in a description or in module content
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2.0f, DESCRIPTION, 1.0f, CONTENT, 1.0f);
+    private static final double MAX_STALE_SECONDS = 1.0;
+    private static final double MIN_STALE_SECONDS = 0.01;
+    private static final String GENERATION_PREFIX = "generation-";
+
+    private final CourseRepository courseRepository;
+    private final CourseModuleRepository courseModuleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Path indexDirectory;
+    // Index writes and searches hold the read lock for the generation they use; swapping generations takes the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Generation current;
+    // While a rebuild runs: keys of the documents written meanwhile, to be re-read into the new generation; after its
+    // swap (rebuildSwapped), writes go to the new generation directly and take their keys out instead
+    private Map<String, Boolean> changedDuringRebuild;
+    private boolean rebuildSwapped;
+
+    public CourseSearchIndex(CourseRepository courseRepository,
+                             CourseModuleRepository courseModuleRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${search.index.directory}") String indexDirectory) throws IOException {
+        this.courseRepository = courseRepository;
+        this.courseModuleRepository = courseModuleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexDirectory = Files.createDirectories(Paths.get(indexDirectory));
+        deleteAbandonedGenerations();
+        this.current = Generation.create(this.indexDirectory, analyzer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Replaces the whole index with the current courses and modules; searches keep using the previous generation meanwhile
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<String, Boolean> changed = new ConcurrentHashMap<>();
+        Generation next = null;
+        try {
+            next = Generation.create(indexDirectory, analyzer);
+            IndexWriter nextWriter = next.writer;
+            recordChanges(changed, null); // Before the tables are read: a write committed after that is re-read below
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CourseDTO> courses = courseRepository.streamAll();
+                     Stream<CourseModuleDTO> modules = courseModuleRepository.streamAll()) {
+                    courses.forEach(course -> write(() -> nextWriter.addDocument(toDocument(course))));
+                    modules.forEach(module -> write(() -> nextWriter.addDocument(toDocument(module))));
+                }
+            });
+            // Writes made during the scan. One written again meanwhile is recorded again and re-read after the swap
+            for (String key : new ArrayList<>(changed.keySet())) {
+                changed.remove(key);
+                reindex(nextWriter, key);
+            }
+            nextWriter.forceMerge(1); // Read far more than written: one segment means one posting list per term
+            next.searcherManager.maybeRefreshBlocking();
+            Generation previous = current;
+            recordChanges(changed, next); // Swaps under the same lock: from here on writes go to the new generation
+            previous.closeQuietly(); // Searches still holding its reader finish on it; the mapped files outlive their deletion
+            // Writes that reached only the previous generation. The rows are read without holding a lock (a writer
+            // waiting in afterCommit still holds its connection); a key is applied only if no newer write took it out
+            for (String key : new ArrayList<>(changed.keySet())) {
+                reindex(nextWriter, key, changed);
+            }
+            recordChanges(null, null);
+            next.searcherManager.maybeRefreshBlocking();
+            logger.info("Course search index rebuilt with {} documents in {} ms.", nextWriter.getDocStats().numDocs,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            recordChanges(null, null); // The next rebuild fixes whatever this one missed
+            if (next != null && next != current) {
+                next.closeQuietly();
+            }
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+    }
+
+    public void indexCourseAfterCommit(CourseDTO course) {
+        String key = courseKey(course.getId());
+        afterCommit(key, writer -> writer.updateDocument(new Term(KEY, key), toDocument(course)));
+    }
+
+    public void indexModuleAfterCommit(CourseModuleDTO module) {
+        String key = moduleKey(module.getId());
+        afterCommit(key, writer -> writer.updateDocument(new Term(KEY, key), toDocument(module)));
+    }
+
+    // Uploaded content is analyzed straight from its file instead of from one String; the module carries no content
+    public void indexModuleAfterCommit(CourseModuleDTO module, Path contentFile) {
+        String key = moduleKey(module.getId());
+        afterCommit(key, writer -> {
+            try (Reader content = Files.newBufferedReader(contentFile, StandardCharsets.UTF_8)) {
+                Document document = toDocument(module);
+                document.add(new TextField(CONTENT, content)); // Tokenized while the document is written, never stored
+                writer.updateDocument(new Term(KEY, key), document);
+            }
+        });
+    }
+
+    // Removes the course and all of its modules, matching the cascade in the database
+    public void deleteCourseAfterCommit(Long courseId) {
+        afterCommit(courseKey(courseId), writer -> writer.deleteDocuments(new Term(COURSE_ID, courseId.toString())));
+    }
+
+    public void deleteModuleAfterCommit(Long moduleId) {
+        String key = moduleKey(moduleId);
+        afterCommit(key, writer -> writer.deleteDocuments(new Term(KEY, key)));
+    }
+
+    // Makes every change written so far visible to searches now instead of within MAX_STALE_SECONDS
+    public void refresh() throws IOException {
+        current.searcherManager.maybeRefreshBlocking();
+    }
+
+    public CourseSearchResultDTO search(String queryText, int page, int size) throws IOException {
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative.");
+        }
+        int window = (page + 1) * size;
+        if (window > CourseSearchResultDTO.MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Search results are limited to the first "
+                    + CourseSearchResultDTO.MAX_RESULT_WINDOW + " hits; refine the query instead of paging further.");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST); // Every term has to match somewhere in the document
+        Query query = parser.parse(queryText);
+
+        Generation generation;
+        IndexSearcher searcher;
+        swapLock.readLock().lock();
+        try {
+            generation = current;
+            searcher = generation.searcherManager.acquire();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        try {
+            TopDocs topDocs = searcher.search(query, window);
+            StoredFields storedFields = searcher.storedFields();
+            List<CourseSearchHitDTO> hits = new ArrayList<>(size);
+            for (int i = page * size; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+            }
+            return new CourseSearchResultDTO(queryText, topDocs.totalHits.value,
+                    topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO, page, size, hits);
+        } finally {
+            generation.searcherManager.release(searcher);
+        }
+    }
+
+    // As at the end of a rebuild, for an index filled through the write paths (benchmarks)
+    void mergeSegments() throws IOException {
+        current.writer.forceMerge(1);
+        current.searcherManager.maybeRefreshBlocking();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        current.close();
+        analyzer.close();
+    }
+
+    // Starts or stops recording writes for a rebuild; given a rebuilt generation, also makes it the current one
+    private void recordChanges(Map<String, Boolean> changed, Generation rebuilt) {
+        swapLock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                current = rebuilt;
+            }
+            changedDuringRebuild = changed;
+            rebuildSwapped = rebuilt != null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void reindex(IndexWriter writer, String key, Map<String, Boolean> changed) {
+        IndexWrite indexWrite = currentState(key);
+        changed.computeIfPresent(key, (k, pending) -> { // Atomic with the removal by a newer write
+            write(() -> indexWrite.apply(writer));
+            return null;
+        });
+    }
+
+    private void reindex(IndexWriter writer, String key) {
+        IndexWrite indexWrite = currentState(key);
+        write(() -> indexWrite.apply(writer));
+    }
+
+    // Reads a document's row as committed by now and returns the write that puts it into an index, or a delete if it is gone
+    private IndexWrite currentState(String key) {
+        return readOnlyTransaction.execute(status -> {
+            if (key.startsWith(COURSE_KEY_PREFIX)) {
+                Long courseId = Long.valueOf(key.substring(COURSE_KEY_PREFIX.length()));
+                Optional<CourseDTO> course = courseRepository.findDtoById(courseId);
+                return course.isPresent()
+                        ? writer -> writer.updateDocument(new Term(KEY, key), toDocument(course.get()))
+                        : writer -> writer.deleteDocuments(new Term(COURSE_ID, courseId.toString())); // Its modules went with it
+            }
+            Optional<CourseModuleDTO> module = courseModuleRepository.findDtoById(Long.valueOf(key.substring(MODULE_KEY_PREFIX.length())));
+            return module.isPresent()
+                    ? writer -> writer.updateDocument(new Term(KEY, key), toDocument(module.get()))
+                    : writer -> writer.deleteDocuments(new Term(KEY, key));
+        });
+    }
+
+    // Generations left behind by instances that did not shut down cleanly; a generation in use holds its write lock
+    private void deleteAbandonedGenerations() throws IOException {
+        try (DirectoryStream<Path> generations = Files.newDirectoryStream(indexDirectory, GENERATION_PREFIX + "*")) {
+            for (Path path : generations) {
+                try (Directory directory = FSDirectory.open(path);
+                     Lock lock = directory.obtainLock(IndexWriter.WRITE_LOCK_NAME)) {
+                    lock.ensureValid();
+                } catch (LockObtainFailedException e) {
+                    continue;
+                }
+                IOUtils.rm(path);
+            }
+        }
+    }
+
+    private static Document toDocument(CourseDTO course) {
+        Document document = new Document();
+        document.add(new StringField(KEY, courseKey(course.getId()), Field.Store.NO));
+        document.add(new StringField(TYPE, CourseSearchHitDTO.Type.COURSE.name(), Field.Store.YES));
+        document.add(new StringField(COURSE_ID, course.getId().toString(), Field.Store.YES));
+        addText(document, TITLE, course.getTitle(), Field.Store.YES);
+        addText(document, DESCRIPTION, course.getDescription(), Field.Store.NO);
+        return document;
+    }
+
+    private static Document toDocument(CourseModuleDTO module) {
+        Document document = new Document();
+        document.add(new StringField(KEY, moduleKey(module.getId()), Field.Store.NO));
+        document.add(new StringField(TYPE, CourseSearchHitDTO.Type.MODULE.name(), Field.Store.YES));
+        document.add(new StringField(COURSE_ID, module.getCourseId().toString(), Field.Store.YES));
+        document.add(new StoredField(MODULE_ID, module.getId()));
+        addText(document, TITLE, module.getTitle(), Field.Store.YES);
+        addText(document, CONTENT, module.getContent(), Field.Store.NO); // Only the title is returned, so content is not stored
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value, Field.Store store) {
+        if (value != null) {
+            document.add(new TextField(field, value, store));
+        }
+    }
+
+    private static CourseSearchHitDTO toHit(Document document, float score) {
+        Field moduleId = (Field) document.getField(MODULE_ID);
+        return new CourseSearchHitDTO(
+                CourseSearchHitDTO.Type.valueOf(document.get(TYPE)),
+                Long.valueOf(document.get(COURSE_ID)),
+                moduleId != null ? moduleId.numericValue().longValue() : null,
+                document.get(TITLE),
+                score);
+    }
+
+    private static String courseKey(Long courseId) {
+        return COURSE_KEY_PREFIX + courseId;
+    }
+
+    private static String moduleKey(Long moduleId) {
+        return MODULE_KEY_PREFIX + moduleId;
+    }
+
+    // Index changes wait for the commit, so a rolled back write never becomes searchable
+    private void afterCommit(String key, IndexWrite indexWrite) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyQuietly(key, indexWrite);
+                }
+            });
+        } else {
+            applyQuietly(key, indexWrite);
+        }
+    }
+
+    // The row is already committed; a failed index write only leaves the index stale until the next rebuild
+    private void applyQuietly(String key, IndexWrite indexWrite) {
+        swapLock.readLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                if (rebuildSwapped) {
+                    changedDuringRebuild.remove(key); // This write is newer than the row a rebuild would re-read
+                } else {
+                    changedDuringRebuild.put(key, Boolean.TRUE);
+                }
+            }
+            indexWrite.apply(current.writer);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to update the course search index: {}", e.getMessage(), e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void write(IndexUpdate indexUpdate) {
+        try {
+            indexUpdate.apply();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply(IndexWriter writer) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply() throws IOException;
+    }
+
+    // One index directory with its writer and near-real-time searchers
+    private static final class Generation implements Closeable {
+
+        private final Path path;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+        private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+        private Generation(Path path, IndexWriter writer) throws IOException {
+            this.path = path;
+            this.writer = writer;
+            this.searcherManager = new SearcherManager(writer, null);
+            this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, MAX_STALE_SECONDS, MIN_STALE_SECONDS);
+            this.reopenThread.setName("course-search-reopen");
+            this.reopenThread.setDaemon(true);
+            this.reopenThread.start();
+        }
+
+        static Generation create(Path indexDirectory, Analyzer analyzer) throws IOException {
+            Path path = Files.createTempDirectory(indexDirectory, GENERATION_PREFIX);
+            Directory directory = FSDirectory.open(path); // MMapDirectory on 64-bit JVMs
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                    .setCommitOnClose(false) // Never reopened, so never committed: no fsync of the whole index
+                    .setRAMBufferSizeMB(64);
+            return new Generation(path, new IndexWriter(directory, config));
+        }
+
+        // Closing discards the directory
+        @Override
+        public void close() throws IOException {
+            try {
+                IOUtils.close(reopenThread, searcherManager, writer, writer.getDirectory());
+            } finally {
+                IOUtils.rm(path);
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                close();
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to discard search index generation {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
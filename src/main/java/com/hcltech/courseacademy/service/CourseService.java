@@ -2,13 +2,30 @@ package com.hcltech.courseacademy.service;
 
 
 import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseDetailDTO;
+import com.hcltech.courseacademy.dto.CourseImportDTO;
+import com.hcltech.courseacademy.dto.CourseImportReportDTO;
+import com.hcltech.courseacademy.dto.CourseSearchResultDTO;
+import com.hcltech.courseacademy.dto.CourseStatsDTO;
+import com.hcltech.courseacademy.dto.CourseSummaryDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseService {
     CourseDTO createCourse(CourseDTO courseDTO);
     CourseDTO getCourseById(Long id);
+    CourseDetailDTO getCourseDetail(Long id);
+    CourseStatsDTO getCourseStats(Long id);
+    long getCourseVersion(Long id);
     List<CourseDTO> getAllCourses();
+    List<CourseSummaryDTO> getAllCourseSummaries();
+    CursorPage<CourseDTO> getAllCourses(Long afterId, int limit);
+    void streamAllCourses(Consumer<CourseDTO> consumer);
     CourseDTO updateCourse(Long id, CourseDTO courseDTO);
     void deleteCourse(Long id);
+    CourseSearchResultDTO searchCourses(String query, int page, int size);
+    CourseImportReportDTO importCourses(Iterator<CourseImportDTO> courses);
 }
@@ -1,28 +1,90 @@
 package com.hcltech.courseacademy.service;
+import com.hcltech.courseacademy.config.CacheConfig;
+import com.hcltech.courseacademy.dto.AuthorDTO;
 import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseDetailDTO;
+import com.hcltech.courseacademy.dto.CourseImportDTO;
+import com.hcltech.courseacademy.dto.CourseImportErrorDTO;
+import com.hcltech.courseacademy.dto.CourseImportReportDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
+import com.hcltech.courseacademy.dto.CourseSearchResultDTO;
+import com.hcltech.courseacademy.dto.CourseStatsDTO;
+import com.hcltech.courseacademy.dto.CourseSummaryDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.entity.Author;
 import com.hcltech.courseacademy.entity.Course;
 import com.hcltech.courseacademy.repository.AuthorRepository;
 import com.hcltech.courseacademy.repository.CourseRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CourseServiceImp implements CourseService {
 
     private static final Logger logger = LoggerFactory.getLogger(CourseServiceImp.class);
+
+    // Courses per import chunk, and the module count that closes a chunk early; each chunk is one transaction
+    static final int IMPORT_CHUNK_COURSES = 500;
+    static final int IMPORT_CHUNK_MODULES = 5_000;
+    // Rows per JDBC batch in imports
+    private static final int IMPORT_BATCH_SIZE = 1_000;
+    private static final String INSERT_COURSE_SQL =
+            "insert into courses (title, description, price, author_id) values (?, ?, ?, ?)";
+    private static final String INSERT_MODULE_SQL =
+            "insert into modules (title, content, course_id) values (?, ?, ?)";
+
     private final CourseRepository courseRepository;
     private final AuthorRepository authorRepository;
+    private final CourseStatsCounters courseStatsCounters;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final CourseSearchIndex courseSearchIndex;
+    private final ModuleContentStore moduleContentStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate importTransaction;
 
-    public CourseServiceImp(CourseRepository courseRepository, AuthorRepository authorRepository) {
+    public CourseServiceImp(CourseRepository courseRepository, AuthorRepository authorRepository,
+                            CourseStatsCounters courseStatsCounters,
+                            CatalogCacheEvictor catalogCacheEvictor, CourseSearchIndex courseSearchIndex,
+                            ModuleContentStore moduleContentStore,
+                            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
         this.courseRepository = courseRepository;
         this.authorRepository = authorRepository;
+        this.courseStatsCounters = courseStatsCounters;
+        this.catalogCacheEvictor = catalogCacheEvictor;
+        this.courseSearchIndex = courseSearchIndex;
+        this.moduleContentStore = moduleContentStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.importTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -48,54 +110,113 @@ public class CourseServiceImp implements CourseService {
         );
         Course savedCourse = courseRepository.save(course);
         logger.info("Successfully created course with ID: {}", savedCourse.getId());
+        catalogCacheEvictor.evictCoursesByAuthor(courseDTO.getAuthorId());
 
         // Convert Entity back to DTO
-        return new CourseDTO(
+        CourseDTO createdCourse = new CourseDTO(
                 savedCourse.getId(),
                 savedCourse.getTitle(),
                 savedCourse.getDescription(),
                 savedCourse.getPrice(),
-                savedCourse.getAuthor() != null ? savedCourse.getAuthor().getId() : null
+                savedCourse.getAuthor() != null ? savedCourse.getAuthor().getId() : null,
+                savedCourse.getVersion()
         );
+        courseSearchIndex.indexCourseAfterCommit(createdCourse);
+        return createdCourse;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id")
     public CourseDTO getCourseById(Long id) {
         logger.info("Attempting to retrieve course with ID: {}", id);
-        Course course = courseRepository.findById(id)
+        CourseDTO course = courseRepository.findDtoById(id) // Projection: no managed entity for a read
                 .orElseThrow(() -> {
                     logger.warn("Course not found with ID: {}", id);
                     return new NoSuchElementException("Course not found with ID: " + id);
                 });
         logger.info("Successfully retrieved course with ID: {}", id);
+        return course;
+    }
 
+    @Override
+    @Transactional(readOnly = true) // Both statements run on one connection
+    public CourseDetailDTO getCourseDetail(Long id) {
+        logger.info("Attempting to retrieve course detail for ID: {}", id);
+        List<CourseRepository.CourseDetailRow> rows = courseRepository.findDetailRowsById(id);
+        if (rows.isEmpty()) {
+            logger.warn("Course not found with ID: {}", id);
+            throw new NoSuchElementException("Course not found with ID: " + id);
+        }
+        CourseRepository.CourseDetailRow first = rows.get(0);
+        CourseDTO course = new CourseDTO(first.getId(), first.getTitle(), first.getDescription(), first.getPrice(),
+                first.getAuthorId(), first.getVersion());
+        AuthorDTO author = first.getAuthorId() != null
+                ? new AuthorDTO(first.getAuthorId(), first.getAuthorFirstname(), first.getAuthorLastname(),
+                first.getAuthorEmail(), first.getAuthorVersion())
+                : null;
+        List<CourseModuleSummaryDTO> modules = rows.stream()
+                .filter(row -> row.getModuleId() != null) // A course without modules still yields its one row
+                .map(row -> new CourseModuleSummaryDTO(row.getModuleId(), row.getModuleTitle(), first.getId(), row.getModuleContentLength()))
+                .collect(Collectors.toList());
+        long enrollmentCount = courseStatsCounters.read(id).getEnrollments(); // Counter rows, not a count over the purchases
+        logger.info("Retrieved course detail for ID {}: {} modules, {} enrollments.", id, modules.size(), enrollmentCount);
+        return new CourseDetailDTO(course, author, modules, enrollmentCount);
+    }
 
-        return new CourseDTO(
-                course.getId(),
-                course.getTitle(),
-                course.getDescription(),
-                course.getPrice(),
-                course.getAuthor() != null ? course.getAuthor().getId() : null
-        );
+    @Override
+    @Transactional(readOnly = true)
+    public CourseStatsDTO getCourseStats(Long id) {
+        logger.info("Attempting to retrieve stats for course ID: {}", id);
+        if (!courseRepository.existsById(id)) {
+            logger.warn("Course not found with ID: {}", id);
+            throw new NoSuchElementException("Course not found with ID: " + id);
+        }
+        CourseStatsDTO stats = courseStatsCounters.read(id);
+        logger.info("Retrieved stats for course ID {}: {} enrollments, {} completions.", id,
+                stats.getEnrollments(), stats.getCompletions());
+        return stats;
+    }
+
+    @Override
+    public long getCourseVersion(Long id) {
+        return courseRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Course not found with ID: " + id));
     }
 
     @Override
     public List<CourseDTO> getAllCourses() {
         logger.info("Attempting to retrieve all courses.");
-        List<Course> courses = courseRepository.findAll();
-        return courses.stream()
-                .map(course -> new CourseDTO(
-                        course.getId(),
-                        course.getTitle(),
-                        course.getDescription(),
-                        course.getPrice(),
-                        course.getAuthor() != null ? course.getAuthor().getId() : null
-                ))
-                .collect(Collectors.toList());
+        return courseRepository.findAllDtos();
+    }
+
+    @Override
+    public List<CourseSummaryDTO> getAllCourseSummaries() {
+        logger.info("Attempting to retrieve all course summaries.");
+        return courseRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseDTO> getAllCourses(Long afterId, int limit) {
+        logger.info("Attempting to retrieve up to {} courses after ID {}.", limit, afterId);
+        return CursorPage.fromSlice(
+                courseRepository.findDtosAfter(CursorPage.normalizeCursor(afterId),
+                        PageRequest.of(0, CursorPage.normalizeLimit(limit))),
+                CourseDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true) // The stream's cursor must stay open while the caller consumes it
+    public void streamAllCourses(Consumer<CourseDTO> consumer) {
+        logger.info("Streaming all courses.");
+        try (Stream<CourseDTO> courses = courseRepository.streamAll()) {
+            courses.forEach(consumer);
+        }
     }
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.COURSES, key = "#id")
     public CourseDTO updateCourse(Long id, CourseDTO courseDTO) {
         logger.info("Attempting to update course with ID: {}", id);
         Course existingCourse = courseRepository.findById(id)
@@ -103,6 +224,8 @@ public class CourseServiceImp implements CourseService {
                     logger.warn("Course not found for update with ID: {}", id);
                     return new NoSuchElementException("Course not found with ID: " + id);
                 });
+        VersionCheck.verify(Course.class, id, courseDTO.getVersion(), existingCourse.getVersion());
+        Long previousAuthorId = existingCourse.getAuthor() != null ? existingCourse.getAuthor().getId() : null;
 
 
         existingCourse.setTitle(courseDTO.getTitle());
@@ -124,32 +247,269 @@ public class CourseServiceImp implements CourseService {
         }
 
 
-        Course updatedCourse = courseRepository.save(existingCourse);
+        Course updatedCourse = courseRepository.saveAndFlush(existingCourse); // Flushed, so the new version is known
         logger.info("Successfully updated course with ID: {}", updatedCourse.getId());
+        // Both the old and the new author's course lists contain this course's previous state
+        catalogCacheEvictor.evictCoursesByAuthor(previousAuthorId);
+        catalogCacheEvictor.evictCoursesByAuthor(courseDTO.getAuthorId());
 
 
-        return new CourseDTO(
+        CourseDTO course = new CourseDTO(
                 updatedCourse.getId(),
                 updatedCourse.getTitle(),
                 updatedCourse.getDescription(),
                 updatedCourse.getPrice(),
-                updatedCourse.getAuthor() != null ? updatedCourse.getAuthor().getId() : null
+                updatedCourse.getAuthor() != null ? updatedCourse.getAuthor().getId() : null,
+                updatedCourse.getVersion()
         );
+        courseSearchIndex.indexCourseAfterCommit(course);
+        return course;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id")
     public void deleteCourse(Long id) {
         logger.info("Attempting to delete course with ID: {}", id);
-        if (!courseRepository.existsById(id)) {
-            logger.warn("Course not found for deletion with ID: {}", id);
-            throw new NoSuchElementException("Course not found with ID: " + id);
-        }
+        CourseDTO existingCourse = courseRepository.findDtoById(id) // Also tells us which author list to evict
+                .orElseThrow(() -> {
+                    logger.warn("Course not found for deletion with ID: {}", id);
+                    return new NoSuchElementException("Course not found with ID: " + id);
+                });
+        moduleContentStore.deleteCourseModulesAfterCommit(id); // Before the delete: it reads the module IDs
         courseRepository.deleteById(id);
+        catalogCacheEvictor.evictCoursesByAuthor(existingCourse.getAuthorId());
+        courseSearchIndex.deleteCourseAfterCommit(id);
         logger.info("Successfully deleted course with ID: {}", id);
     }
-}
 
+    @Override
+    public CourseSearchResultDTO searchCourses(String query, int page, int size) {
+        logger.info("Searching courses for '{}' (page {}, size {}).", query, page, size);
+        try {
+            CourseSearchResultDTO result = courseSearchIndex.search(query, page, CourseSearchResultDTO.normalizeSize(size));
+            logger.info("Search for '{}' matched {} documents.", query, result.getTotalHits());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Reads the document one course at a time and writes it in chunks, each committed on its own: memory holds one
+    // chunk whatever the upload size, and a failure only loses the chunk it happened in. Re-sending the document
+    // after a failure is safe, since courses already imported are rejected as duplicate titles.
+    @Override
+    public CourseImportReportDTO importCourses(Iterator<CourseImportDTO> courses) {
+        logger.info("Attempting to import courses.");
+        long start = System.nanoTime();
+        ImportTally tally = new ImportTally();
+        List<CourseImportDTO> chunk = new ArrayList<>(IMPORT_CHUNK_COURSES);
+        int chunkModules = 0;
+        CourseImportDTO course;
+        while ((course = readNext(courses, tally)) != null) {
+            chunk.add(course);
+            chunkModules += course.getModules() != null ? course.getModules().size() : 0;
+            if (chunk.size() == IMPORT_CHUNK_COURSES || chunkModules >= IMPORT_CHUNK_MODULES) {
+                importChunk(chunk, tally);
+                chunk.clear();
+                chunkModules = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, tally);
+        }
+        CourseImportReportDTO report = tally.toReport();
+        logger.info("Course import finished in {} ms: {} received, {} courses and {} modules created, {} rejected, complete: {}.",
+                (System.nanoTime() - start) / 1_000_000, report.getReceived(), report.getCoursesCreated(),
+                report.getModulesCreated(), report.getRejected(), report.isComplete());
+        return report;
+    }
+
+    // Null at the end of the document. A malformed course (including a JSON null) also ends the import; the courses
+    // read before it are still imported
+    private static CourseImportDTO readNext(Iterator<CourseImportDTO> courses, ImportTally tally) {
+        try {
+            if (!courses.hasNext()) {
+                return null;
+            }
+            CourseImportDTO course = Objects.requireNonNull(courses.next(), "Course entries must be objects.");
+            tally.received++;
+            return course;
+        } catch (RuntimeException e) {
+            logger.warn("Course import stopped at course {}: malformed input: {}", tally.received, e.getMessage());
+            tally.abort(tally.received, "Malformed input: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void importChunk(List<CourseImportDTO> chunk, ImportTally tally) {
+        long firstIndex = tally.received - chunk.size();
+        ImportTally chunkTally = new ImportTally();
+        try {
+            importTransaction.executeWithoutResult(status -> insertChunk(chunk, firstIndex, chunkTally));
+            tally.merge(chunkTally);
+        } catch (DataAccessException e) {
+            // E.g. a title taken by a concurrent write after the check; nothing of this chunk was written
+            logger.error("Course import chunk at course {} rolled back: {}", firstIndex, e.getMessage());
+            for (int n = 0; n < chunk.size(); n++) {
+                tally.reject(firstIndex + n, chunk.get(n).getTitle(), "Not imported: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void insertChunk(List<CourseImportDTO> chunk, long firstIndex, ImportTally chunkTally) {
+        // Set-based validation: one query for the chunk's authors and one for its titles
+        Set<Long> authorIds = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        for (CourseImportDTO course : chunk) {
+            if (validateImport(course) == null) {
+                titles.add(course.getTitle());
+                if (course.getAuthorId() != null) {
+                    authorIds.add(course.getAuthorId());
+                }
+            }
+        }
+        Set<Long> existingAuthorIds = authorIds.isEmpty() ? Collections.emptySet()
+                : new HashSet<>(authorRepository.findExistingIds(authorIds));
+        Set<String> takenTitles = titles.isEmpty() ? new HashSet<>()
+                : new HashSet<>(courseRepository.findExistingTitles(titles));
+
+        List<CourseImportDTO> accepted = new ArrayList<>(chunk.size());
+        for (int n = 0; n < chunk.size(); n++) {
+            CourseImportDTO course = chunk.get(n);
+            String problem = validateImport(course);
+            if (problem == null && course.getAuthorId() != null && !existingAuthorIds.contains(course.getAuthorId())) {
+                problem = "Author not found with ID: " + course.getAuthorId();
+            }
+            if (problem == null && !takenTitles.add(course.getTitle())) { // Also catches repeats within the chunk
+                problem = "A course with this title already exists.";
+            }
+            if (problem != null) {
+                chunkTally.reject(firstIndex + n, course.getTitle(), problem);
+            } else {
+                accepted.add(course);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<Long> courseIds = batchInsert(INSERT_COURSE_SQL, accepted, (statement, course) -> {
+            statement.setString(1, course.getTitle());
+            statement.setString(2, course.getDescription());
+            statement.setInt(3, course.getPrice());
+            statement.setObject(4, course.getAuthorId(), Types.BIGINT);
+        });
+        List<CourseModuleDTO> modules = new ArrayList<>();
+        Set<Long> touchedAuthorIds = new HashSet<>();
+        for (int n = 0; n < accepted.size(); n++) {
+            CourseImportDTO course = accepted.get(n);
+            Long courseId = courseIds.get(n);
+            courseSearchIndex.indexCourseAfterCommit(new CourseDTO(courseId, course.getTitle(), course.getDescription(),
+                    course.getPrice(), course.getAuthorId(), 0L));
+            catalogCacheEvictor.evictCoursesByAuthor(course.getAuthorId());
+            if (course.getAuthorId() != null) {
+                touchedAuthorIds.add(course.getAuthorId());
+            }
+            if (course.getModules() != null) {
+                for (CourseModuleDTO module : course.getModules()) {
+                    module.setCourseId(courseId);
+                    modules.add(module);
+                }
+            }
+        }
+        List<Long> moduleIds = batchInsert(INSERT_MODULE_SQL, modules, (statement, module) -> {
+            statement.setString(1, module.getTitle());
+            statement.setString(2, module.getContent());
+            statement.setLong(3, module.getCourseId());
+        });
+        for (int n = 0; n < modules.size(); n++) {
+            CourseModuleDTO module = modules.get(n);
+            courseSearchIndex.indexModuleAfterCommit(
+                    new CourseModuleDTO(moduleIds.get(n), module.getTitle(), module.getContent(), module.getCourseId(), 0L));
+        }
+        catalogCacheEvictor.evictInsertedCourses(touchedAuthorIds);
+        chunkTally.coursesCreated += accepted.size();
+        chunkTally.modulesCreated += modules.size();
+    }
+
+    private static String validateImport(CourseImportDTO course) {
+        if (course.getTitle() == null || course.getTitle().isBlank() || course.getPrice() == null) {
+            return "Title and price are required.";
+        }
+        if (course.getModules() != null) {
+            for (CourseModuleDTO module : course.getModules()) {
+                if (module == null || module.getTitle() == null || module.getTitle().isBlank()) {
+                    return "Every module needs a title.";
+                }
+            }
+        }
+        return null;
+    }
+
+    // IDENTITY ids disable Hibernate's insert batching, so imported rows go through plain JDBC batches in the
+    // chunk's transaction; nothing is attached to the persistence context. Generated keys come back in row order.
+    private <T> List<Long> batchInsert(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(rows.size());
+            try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+                for (int start = 0; start < rows.size(); start += IMPORT_BATCH_SIZE) {
+                    for (T row : rows.subList(start, Math.min(start + IMPORT_BATCH_SIZE, rows.size()))) {
+                        setter.setValues(statement, row);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
 
+    // Running totals of an import; the error list is capped so the report stays small
+    private static final class ImportTally {
+        long received;
+        long coursesCreated;
+        long modulesCreated;
+        long rejected;
+        final List<CourseImportErrorDTO> errors = new ArrayList<>();
+        CourseImportErrorDTO abortedAt;
 
+        void reject(long index, String title, String message) {
+            rejected++;
+            if (errors.size() < CourseImportReportDTO.MAX_REPORTED_ERRORS) {
+                errors.add(new CourseImportErrorDTO(index, title, message));
+            }
+        }
 
+        // Reported last and even past the cap: it says where the import stopped
+        void abort(long index, String message) {
+            abortedAt = new CourseImportErrorDTO(index, null, message);
+        }
+
+        void merge(ImportTally chunk) {
+            coursesCreated += chunk.coursesCreated;
+            modulesCreated += chunk.modulesCreated;
+            rejected += chunk.rejected;
+            for (CourseImportErrorDTO error : chunk.errors) {
+                if (errors.size() < CourseImportReportDTO.MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        CourseImportReportDTO toReport() {
+            if (abortedAt != null) {
+                errors.add(abortedAt);
+            }
+            return new CourseImportReportDTO(received, coursesCreated, modulesCreated, rejected, abortedAt == null, errors);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.dto.CourseStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-course enrollment and completion counters in the course_stats table, so a course's totals are read in O(1)
+ * instead of counting its purchases.
+ * <p>
+ * The purchase write paths in {@link PurchasedCourseServiceImp} apply their deltas in their own transaction, so the
+ * counters commit or roll back with the purchases. Each delta is one in-place {@code update ... set n = n + ?} on a
+ * randomly chosen stripe row of the course: no read-modify-write, and concurrent purchases of the same course
+ * mostly lock different rows. Rows written around the service (SQL scripts, the perf data generator) are picked up
+ * by {@link #reconcile()}, which also runs nightly (course-stats.reconcile-cron).
+ */
+@Component
+public class CourseStatsCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseStatsCounters.class);
+
+    static final int STRIPES = 8;
+
+    private static final String ADD_SQL =
+            "update course_stats set enrollments = enrollments + ?, completions = completions + ? "
+                    + "where course_id = ? and stripe = ?";
+    private static final String INSERT_STRIPE_SQL =
+            "insert into course_stats (course_id, stripe, enrollments, completions) values (?, ?, 0, 0) "
+                    + "on conflict do nothing";
+    private static final String READ_SQL =
+            "select coalesce(sum(enrollments), 0), coalesce(sum(completions), 0) from course_stats where course_id = ?";
+    // Per course: (actual counts from purchased_courses) - (sum of its stripes), only where they differ.
+    // One statement, so both sides come from the same snapshot.
+    private static final String DRIFT_SQL =
+            "select course_id, sum(enrollments), sum(completions) from ("
+                    + "select course_id, count(*) as enrollments, sum(case when completed then 1 else 0 end) as completions "
+                    + "from purchased_courses group by course_id "
+                    + "union all "
+                    + "select course_id, -sum(enrollments), -sum(completions) from course_stats group by course_id"
+                    + ") counts group by course_id having sum(enrollments) <> 0 or sum(completions) <> 0 order by course_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourseStatsCounters(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Only meaningful together with the purchase write it accounts for, hence MANDATORY
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long courseId, long enrollments, long completions) {
+        if (enrollments == 0 && completions == 0) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(STRIPES);
+        if (jdbcTemplate.update(ADD_SQL, enrollments, completions, courseId, stripe) == 0) {
+            // First write to this stripe of the course; a concurrent first write makes the insert a no-op
+            jdbcTemplate.update(INSERT_STRIPE_SQL, courseId, stripe);
+            jdbcTemplate.update(ADD_SQL, enrollments, completions, courseId, stripe);
+        }
+    }
+
+    // Deltas per course ID ({enrollments, completions}), applied in ID order so concurrent batches lock rows in the same order
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(SortedMap<Long, long[]> deltas) {
+        for (Map.Entry<Long, long[]> delta : deltas.entrySet()) {
+            add(delta.getKey(), delta.getValue()[0], delta.getValue()[1]);
+        }
+    }
+
+    // Sums the course's stripes: at most STRIPES rows, read through the primary key
+    public CourseStatsDTO read(Long courseId) {
+        return jdbcTemplate.queryForObject(READ_SQL,
+                (rs, rowNum) -> new CourseStatsDTO(courseId, rs.getLong(1), rs.getLong(2)), courseId);
+    }
+
+    // Brings every course's counters back in line with purchased_courses and returns the number of courses corrected.
+    // The corrections are applied as increments like any other delta, so they commute with purchases committed
+    // meanwhile instead of overwriting them.
+    @Scheduled(cron = "${course-stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        long start = System.nanoTime();
+        SortedMap<Long, long[]> corrections = new TreeMap<>();
+        jdbcTemplate.query(DRIFT_SQL, rs -> {
+            corrections.put(rs.getLong(1), new long[]{rs.getLong(2), rs.getLong(3)});
+        });
+        addAll(corrections);
+        logger.info("Course stats reconciled in {} ms: {} courses corrected.", (System.nanoTime() - start) / 1_000_000,
+                corrections.size());
+        return corrections.size();
+    }
+}
@@ -0,0 +1,412 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Module content as plain UTF-8 files, so it can be sent to clients straight from the file system
+ * (see CourseModuleController#getModuleContent) instead of through a String on the heap.
+ * <p>
+ * Each file holds one version of one module: {@code <directory>/<id / 1000>/<id>-<version>}. A file never changes
+ * once written, so a reader can never see half of an update, and a write that lands late cannot overwrite newer
+ * content. The modules table stays the source of truth: the write paths in {@link CourseModuleServiceImp} store the
+ * new version after their transaction commits, and a version without a file (written around the services, or lost
+ * with the directory) is copied from the database on first read. The store is local to each instance and survives
+ * restarts; it has to be emptied by hand if the database is replaced (e.g. restored from a backup), since IDs and
+ * versions could then name different content. The perf profile, whose in-memory database starts over on every run,
+ * empties it at startup (module-content.clear-on-startup).
+ * <p>
+ * A superseded or deleted version stays on disk for module-content.superseded-retention before it is removed:
+ * {@link #open} holds a descriptor, which keeps a file readable after it is unlinked, but with sendfile the
+ * container opens the file by name only after the request handler has returned.
+ */
+@Component
+public class ModuleContentStore implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModuleContentStore.class);
+
+    private static final int MODULES_PER_DIRECTORY = 1000;
+    private static final int UPLOAD_BUFFER_BYTES = 64 * 1024;
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern FILE_NAME = Pattern.compile("\\d+-\\d+|\\d+-.*\\.tmp");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path root;
+    private final long maxUploadBytes;
+    private final Duration supersededRetention;
+    private final ScheduledExecutorService cleanup;
+
+    public ModuleContentStore(JdbcTemplate jdbcTemplate,
+                              @Value("${module-content.directory}") String directory,
+                              @Value("${module-content.max-upload-size:100MB}") DataSize maxUploadSize,
+                              @Value("${module-content.superseded-retention:PT1M}") Duration supersededRetention,
+                              @Value("${module-content.clear-on-startup:false}") boolean clearOnStartup) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.root = Files.createDirectories(Paths.get(directory)).toAbsolutePath();
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.supersededRetention = supersededRetention;
+        this.cleanup = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "module-content-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (clearOnStartup) {
+            clear();
+        }
+    }
+
+    /**
+     * The current version of a module's content, copied from the database first if it has no file yet. The returned
+     * content holds the file open, so it stays readable even if a newer version replaces it meanwhile; close it
+     * when done.
+     */
+    public StoredContent open(Long moduleId) throws IOException {
+        Long version = jdbcTemplate.query("select version from modules where id = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, moduleId);
+        if (version == null) {
+            throw new NoSuchElementException("Module not found with ID: " + moduleId);
+        }
+        Path file = pathFor(moduleId, version);
+        try {
+            return StoredContent.open(file, version);
+        } catch (NoSuchFileException e) {
+            return materialize(moduleId);
+        }
+    }
+
+    // Stores the version a create or update just wrote, and retires the versions before it
+    public void writeAfterCommit(CourseModuleDTO module) {
+        afterCommit(() -> {
+            write(module.getId(), module.getVersion(), module.getContent());
+            retireVersions(module.getId(), module.getVersion());
+        });
+    }
+
+    public void deleteAfterCommit(Long moduleId) {
+        afterCommit(() -> retireVersions(moduleId, Long.MAX_VALUE));
+    }
+
+    // Modules go with their course (cascade); their IDs have to be read before the delete
+    public void deleteCourseModulesAfterCommit(Long courseId) {
+        List<Long> moduleIds = jdbcTemplate.queryForList("select id from modules where course_id = ?", Long.class, courseId);
+        if (!moduleIds.isEmpty()) {
+            afterCommit(() -> {
+                for (Long moduleId : moduleIds) {
+                    retireVersions(moduleId, Long.MAX_VALUE);
+                }
+            });
+        }
+    }
+
+    /**
+     * Copies an upload to a temporary file next to the module's versions, one fixed-size buffer at a time, and computes
+     * its length and SHA-256 on the way. The bytes also go through a UTF-8 decoder, so text the modules table could
+     * not hold is rejected before anything is written there. Only one buffer of the body is ever on the heap.
+     * The caller publishes or discards the staged file.
+     */
+    public StagedContent stage(Long moduleId, InputStream body) throws IOException {
+        Path directory = Files.createDirectories(pathFor(moduleId, 0).getParent());
+        Path temporary = Files.createTempFile(directory, moduleId + "-", ".tmp");
+        MessageDigest digest = sha256();
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder(); // Reports malformed input instead of replacing it
+        ByteBuffer bytes = ByteBuffer.allocate(UPLOAD_BUFFER_BYTES);
+        CharBuffer chars = CharBuffer.allocate(UPLOAD_BUFFER_BYTES);
+        long length = 0;
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            int read;
+            while ((read = body.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+                length += read;
+                if (length > maxUploadBytes) {
+                    throw new MaxUploadSizeExceededException(maxUploadBytes);
+                }
+                out.write(bytes.array(), bytes.position(), read);
+                digest.update(bytes.array(), bytes.position(), read);
+                bytes.position(bytes.position() + read);
+                bytes.flip();
+                decode(decoder, bytes, chars, false);
+                bytes.compact(); // Keeps a multi-byte character cut off at the end of the buffer for the next read
+            }
+            bytes.flip();
+            decode(decoder, bytes, chars, true);
+            decoder.flush(chars);
+        } catch (CharacterCodingException e) {
+            Files.deleteIfExists(temporary);
+            throw new IllegalArgumentException("Module content must be UTF-8 text.");
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return new StagedContent(temporary, length, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    // Moves staged content into place as the given (already committed) version and drops the versions before it
+    public void publish(StagedContent staged, Long moduleId, long version) {
+        applyQuietly(() -> {
+            Files.move(staged.getPath(), pathFor(moduleId, version), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            retireVersions(moduleId, version);
+        });
+    }
+
+    // Deletes staged content that was not published; a no-op after publish()
+    public void discard(StagedContent staged) {
+        applyQuietly(() -> Files.deleteIfExists(staged.getPath()));
+    }
+
+    Path pathFor(long moduleId, long version) {
+        return root.resolve(Long.toString(moduleId / MODULES_PER_DIRECTORY)).resolve(moduleId + "-" + version);
+    }
+
+    // Copies the row as it is now; if it changed since open() read the version, the newer content is what gets served
+    private StoredContent materialize(Long moduleId) throws IOException {
+        StoredContent content = jdbcTemplate.query("select version, content from modules where id = ?", rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            long version = rs.getLong(1);
+            try (Reader reader = rs.getCharacterStream(2)) {
+                return StoredContent.open(write(moduleId, version, reader), version);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, moduleId);
+        if (content == null) {
+            throw new NoSuchElementException("Module not found with ID: " + moduleId);
+        }
+        logger.debug("Copied content of module ID {} (version {}) from the database.", moduleId, content.getVersion());
+        return content;
+    }
+
+    private Path write(long moduleId, long version, String content) throws IOException {
+        return write(moduleId, version, content == null ? null : new StringReader(content));
+    }
+
+    // Written to a temporary file and moved into place, so a file under its final name is always complete
+    private Path write(long moduleId, long version, Reader content) throws IOException {
+        Path file = pathFor(moduleId, version);
+        Path directory = Files.createDirectories(file.getParent());
+        Path temporary = Files.createTempFile(directory, moduleId + "-", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                if (content != null) { // A module without content is served as an empty body
+                    content.transferTo(writer);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // Deletes the module's files older than the given version once the retention has passed. Deletions still pending
+    // at shutdown are dropped; the next write of the module removes those files along with its other old versions.
+    private void retireVersions(long moduleId, long belowVersion) {
+        cleanup.schedule(() -> applyQuietly(() -> deleteVersions(moduleId, belowVersion)),
+                supersededRetention.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void deleteVersions(long moduleId, long belowVersion) throws IOException {
+        Path directory = pathFor(moduleId, 0).getParent();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, moduleId + "-*")) {
+            for (Path file : files) {
+                String version = file.getFileName().toString().substring(Long.toString(moduleId).length() + 1);
+                if (DIGITS.matcher(version).matches() && Long.parseLong(version) < belowVersion) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // No file of this module was ever stored
+        }
+    }
+
+    @Override
+    public void destroy() {
+        cleanup.shutdownNow();
+    }
+
+    // Only removes what this store writes, in case the directory is shared with anything else
+    private void clear() throws IOException {
+        long deleted = 0;
+        try (Stream<Path> shards = Files.list(root)) {
+            for (Path shard : (Iterable<Path>) shards::iterator) {
+                if (!Files.isDirectory(shard) || !DIGITS.matcher(shard.getFileName().toString()).matches()) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(shard)) {
+                    for (Path file : files) {
+                        if (FILE_NAME.matcher(file.getFileName().toString()).matches()) {
+                            Files.delete(file);
+                            deleted++;
+                        }
+                    }
+                }
+            }
+        }
+        logger.info("Module content store at {} cleared ({} files).", root, deleted);
+    }
+
+    private static void decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, boolean endOfInput)
+            throws CharacterCodingException {
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chars, endOfInput);
+            chars.clear(); // Only validity matters; the decoded characters are dropped
+            if (result.isError()) {
+                result.throwException();
+            }
+        } while (result.isOverflow());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every Java platform has to provide SHA-256
+        }
+    }
+
+    // File changes wait for the commit, so a rolled back write never becomes visible
+    private static void afterCommit(StoreWrite storeWrite) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyQuietly(storeWrite);
+                }
+            });
+        } else {
+            applyQuietly(storeWrite);
+        }
+    }
+
+    // The row is already committed; a failed write only means the next read copies the content from the database
+    private static void applyQuietly(StoreWrite storeWrite) {
+        try {
+            storeWrite.apply();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to update the module content store: {}", e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreWrite {
+        void apply() throws IOException;
+    }
+
+    // An upload copied to a temporary file, with the length and SHA-256 of the bytes received
+    public static final class StagedContent {
+
+        private final Path path;
+        private final long length;
+        private final String sha256;
+
+        StagedContent(Path path, long length, String sha256) {
+            this.path = path;
+            this.length = length;
+            this.sha256 = sha256;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+
+    // One stored version of a module's content, held open: the channel reads it even after the file is deleted
+    public static final class StoredContent implements Closeable {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final long length;
+        private final long version;
+
+        private StoredContent(Path path, FileChannel channel, long length, long version) {
+            this.path = path;
+            this.channel = channel;
+            this.length = length;
+            this.version = version;
+        }
+
+        static StoredContent open(Path path, long version) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                return new StoredContent(path, channel, channel.size(), version);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public FileChannel getChannel() {
+            return channel;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.hcltech.courseacademy.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hcltech.courseacademy.dto.PurchaseExportRowDTO;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported purchases row by row to an output stream (a servlet response or a file), as CSV with a header
+ * line or as NDJSON. Nothing is kept per row, so an export of any size needs the same memory.
+ */
+public abstract class PurchaseExportWriter implements Consumer<PurchaseExportRowDTO>, Closeable {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        Format(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        // Case-insensitive, for request parameters and command-line options
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format '" + format + "'; use csv or ndjson.");
+            }
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static PurchaseExportWriter open(Format format, boolean details, ObjectMapper objectMapper,
+                                            OutputStream outputStream) throws IOException {
+        return format == Format.CSV
+                ? new CsvWriter(outputStream, details)
+                : new NdjsonWriter(objectMapper, outputStream);
+    }
+
+    @Override
+    public void accept(PurchaseExportRowDTO row) {
+        try {
+            write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // E.g. the client went away; ends the export and releases the cursor
+        }
+    }
+
+    abstract void write(PurchaseExportRowDTO row) throws IOException;
+
+    private static final class CsvWriter extends PurchaseExportWriter {
+
+        private static final String HEADER = "id,student_id,course_id,purchase_date,completed";
+        private static final String DETAILS_HEADER = ",student_email,course_title,course_price";
+
+        private final Writer writer;
+        private final boolean details;
+
+        CsvWriter(OutputStream outputStream, boolean details) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.details = details;
+            writer.write(details ? HEADER + DETAILS_HEADER : HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        void write(PurchaseExportRowDTO row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getStudentId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getCourseId()));
+            writer.write(',');
+            writer.write(row.getPurchaseDate().toString()); // ISO-8601
+            writer.write(',');
+            writer.write(String.valueOf(row.getCompleted()));
+            if (details) {
+                writer.write(',');
+                writeField(row.getStudentEmail());
+                writer.write(',');
+                writeField(row.getCourseTitle());
+                writer.write(',');
+                writer.write(String.valueOf(row.getCoursePrice()));
+            }
+            writer.write('\n');
+        }
+
+        // RFC 4180: fields containing a separator, quote or line break are quoted, with quotes doubled
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class NdjsonWriter extends PurchaseExportWriter {
+
+        private final ObjectWriter objectWriter;
+        private final JsonGenerator generator;
+
+        NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+            // Rows are terminated by '\n' explicitly; the buffer decides when to flush, not every row
+            this.objectWriter = objectMapper.writerFor(PurchaseExportRowDTO.class)
+                    .withRootValueSeparator("")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        }
+
+        @Override
+        void write(PurchaseExportRowDTO row) throws IOException {
+            objectWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
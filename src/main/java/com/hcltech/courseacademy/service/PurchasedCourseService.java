@@ -1,13 +1,22 @@
 package com.hcltech.courseacademy.service;
 
 import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.dto.BulkPurchaseReportDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
+import com.hcltech.courseacademy.dto.PurchaseExportRowDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PurchasedCourseService {
     PurchasedCourseDTO createPurchasedCourse(PurchasedCourseDTO purchasedCourseDTO);
+    BulkPurchaseReportDTO createPurchasedCourses(List<PurchasedCourseDTO> purchasedCourseDTOs);
     PurchasedCourseDTO getPurchasedCourseById(Long id);
+    long getPurchasedCourseVersion(Long id);
     List<PurchasedCourseDTO> getAllPurchasedCourses();
+    CursorPage<PurchasedCourseDTO> getAllPurchasedCourses(Long afterId, int limit);
+    void streamAllPurchasedCourses(Consumer<PurchasedCourseDTO> consumer);
+    void exportPurchasedCourses(boolean details, Consumer<PurchaseExportRowDTO> consumer);
     PurchasedCourseDTO updatePurchasedCourse(Long id, PurchasedCourseDTO purchasedCourseDTO);
     void deletePurchasedCourse(Long id);
     List<PurchasedCourseDTO> getPurchasedCoursesByStudentId(Long studentId);
@@ -1,5 +1,9 @@
 package com.hcltech.courseacademy.service;
 
+import com.hcltech.courseacademy.dto.BulkPurchaseReportDTO;
+import com.hcltech.courseacademy.dto.BulkPurchaseResultDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
+import com.hcltech.courseacademy.dto.PurchaseExportRowDTO;
 import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
 import com.hcltech.courseacademy.entity.Course;
 import com.hcltech.courseacademy.entity.PurchasedCourse;
@@ -10,28 +14,75 @@ import com.hcltech.courseacademy.repository.PurchasedCourseRepository;
 import com.hcltech.courseacademy.repository.StudentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors; // For stream API
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class PurchasedCourseServiceImp implements PurchasedCourseService {
 
     private static final Logger logger = LoggerFactory.getLogger(PurchasedCourseServiceImp.class);
+
+    // Upper bound for one bulk request; a 50k cohort enrollment fits in a single call
+    public static final int MAX_BULK_PURCHASES = 50_000;
+    // Rows per JDBC batch, and IDs per IN (...) lookup, in bulk purchases
+    private static final int BULK_CHUNK_SIZE = 1_000;
+    // The unique (student_id, course_id) index is the only constraint an insert can conflict on (ids are generated),
+    // so the conflict target is left implicit; H2's PostgreSQL mode, used by the perf profile, does not parse one
+    private static final String INSERT_PURCHASED_COURSE_SQL =
+            "insert into purchased_courses (student_id, course_id, purchase_date, completed) values (?, ?, ?, ?) "
+                    + "on conflict do nothing";
+    private static final String INSERT_PURCHASED_COURSE_IF_ABSENT_SQL =
+            "insert into purchased_courses (student_id, course_id, purchase_date, completed) "
+                    + "select s.id, c.id, ?, ? from students s, courses c where s.id = ? and c.id = ? "
+                    + "on conflict do nothing";
+    // Rows per round trip of the export cursor: enough to amortize the round trips, small enough to bound memory
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+    private static final String EXPORT_SQL =
+            "select p.id, p.student_id, p.course_id, p.purchase_date, p.completed from purchased_courses p order by p.id";
+    private static final String EXPORT_DETAILS_SQL =
+            "select p.id, p.student_id, p.course_id, p.purchase_date, p.completed, s.email, c.title, c.price "
+                    + "from purchased_courses p join students s on s.id = p.student_id join courses c on c.id = p.course_id "
+                    + "order by p.id";
+
     private final PurchasedCourseRepository purchasedCourseRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CourseStatsCounters courseStatsCounters;
 
     public PurchasedCourseServiceImp(PurchasedCourseRepository purchasedCourseRepository,
                                      StudentRepository studentRepository,
-                                     CourseRepository courseRepository) {
+                                     CourseRepository courseRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     CourseStatsCounters courseStatsCounters) {
         this.purchasedCourseRepository = purchasedCourseRepository;
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.courseStatsCounters = courseStatsCounters;
     }
 
     @Override
@@ -40,61 +91,275 @@ public class PurchasedCourseServiceImp implements PurchasedCourseService {
         logger.info("Attempting to create purchased course for student ID: {} and course ID: {}",
                 purchasedCourseDTO.getStudentId(), purchasedCourseDTO.getCourseId());
 
-        // Rectification: studentRepository.findById expects Long
-        Student student = studentRepository.findById(purchasedCourseDTO.getStudentId())
-                .orElseThrow(() -> {
-                    logger.warn("Student not found with ID: {} for purchased course creation.", purchasedCourseDTO.getStudentId());
-                    return new NoSuchElementException("Student not found with ID: " + purchasedCourseDTO.getStudentId());
-                });
-
-        Course course = courseRepository.findById(purchasedCourseDTO.getCourseId())
-                .orElseThrow(() -> {
-                    logger.warn("Course not found with ID: {} for purchased course creation.", purchasedCourseDTO.getCourseId());
-                    return new NoSuchElementException("Course not found with ID: " + purchasedCourseDTO.getCourseId());
-                });
+        boolean completed = purchasedCourseDTO.getCompleted() != null ? purchasedCourseDTO.getCompleted() : false; // Handle Boolean to boolean
+        Long id = insertPurchasedCourseIfAbsent(purchasedCourseDTO.getStudentId(), purchasedCourseDTO.getCourseId(),
+                purchasedCourseDTO.getPurchaseDate(), completed);
 
-        // Optional: Business rule to prevent duplicate purchases
-        if (purchasedCourseRepository.findByStudentIdAndCourseId(purchasedCourseDTO.getStudentId(), purchasedCourseDTO.getCourseId()).isPresent()) {
+        if (id == null) {
+            // Nothing inserted: find out why, off the happy path
+            if (!studentRepository.existsById(purchasedCourseDTO.getStudentId())) {
+                logger.warn("Student not found with ID: {} for purchased course creation.", purchasedCourseDTO.getStudentId());
+                throw new NoSuchElementException("Student not found with ID: " + purchasedCourseDTO.getStudentId());
+            }
+            if (!courseRepository.existsById(purchasedCourseDTO.getCourseId())) {
+                logger.warn("Course not found with ID: {} for purchased course creation.", purchasedCourseDTO.getCourseId());
+                throw new NoSuchElementException("Course not found with ID: " + purchasedCourseDTO.getCourseId());
+            }
+            // Business rule to prevent duplicate purchases, enforced by the unique (student_id, course_id) index
             logger.warn("Attempt to create duplicate purchased course for student ID: {} and course ID: {}",
                     purchasedCourseDTO.getStudentId(), purchasedCourseDTO.getCourseId());
             throw new IllegalArgumentException("Student has already purchased this course.");
         }
+        courseStatsCounters.add(purchasedCourseDTO.getCourseId(), 1, completed ? 1 : 0);
+        logger.info("Successfully created purchased course with ID: {}", id);
+
+        return new PurchasedCourseDTO(id, purchasedCourseDTO.getStudentId(), purchasedCourseDTO.getCourseId(),
+                purchasedCourseDTO.getPurchaseDate(), completed, 0L); // New rows start at the column default
+    }
+
+    // One statement per purchase: the select only yields a row when both the student and the course exist, and
+    // ON CONFLICT DO NOTHING turns a duplicate (including one committed concurrently) into "no row" instead of
+    // an error. The driver appends RETURNING id for the requested generated key; null means nothing was inserted.
+    private Long insertPurchasedCourseIfAbsent(Long studentId, Long courseId, LocalDate purchaseDate, boolean completed) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PURCHASED_COURSE_IF_ABSENT_SQL, new String[]{"id"})) {
+                statement.setObject(1, purchaseDate);
+                statement.setBoolean(2, completed);
+                statement.setLong(3, studentId);
+                statement.setLong(4, courseId);
+                if (statement.executeUpdate() == 0) {
+                    return null;
+                }
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    return keys.next() ? keys.getLong(1) : null;
+                }
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public BulkPurchaseReportDTO createPurchasedCourses(List<PurchasedCourseDTO> purchasedCourseDTOs) {
+        logger.info("Attempting bulk creation of {} purchased courses.", purchasedCourseDTOs.size());
+        if (purchasedCourseDTOs.size() > MAX_BULK_PURCHASES) {
+            throw new IllegalArgumentException("A bulk request may contain at most " + MAX_BULK_PURCHASES + " purchases.");
+        }
+
+        BulkPurchaseResultDTO[] results = new BulkPurchaseResultDTO[purchasedCourseDTOs.size()];
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (int i = 0; i < purchasedCourseDTOs.size(); i++) {
+            PurchasedCourseDTO dto = purchasedCourseDTOs.get(i);
+            if (dto == null || dto.getStudentId() == null || dto.getCourseId() == null || dto.getPurchaseDate() == null) {
+                results[i] = bulkResult(i, dto, null, BulkPurchaseResultDTO.Status.INVALID,
+                        "Student ID, course ID and purchase date are required.");
+                continue;
+            }
+            studentIds.add(dto.getStudentId());
+            courseIds.add(dto.getCourseId());
+        }
+
+        // Set-based validation: one IN (...) query per chunk instead of two findById calls per item
+        Set<Long> existingStudentIds = findExistingIds(studentIds, studentRepository::findExistingIds);
+        Set<Long> existingCourseIds = findExistingIds(courseIds, courseRepository::findExistingIds);
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < purchasedCourseDTOs.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            PurchasedCourseDTO dto = purchasedCourseDTOs.get(i);
+            if (!existingStudentIds.contains(dto.getStudentId())) {
+                results[i] = bulkResult(i, dto, null, BulkPurchaseResultDTO.Status.STUDENT_NOT_FOUND,
+                        "Student not found with ID: " + dto.getStudentId());
+            } else if (!existingCourseIds.contains(dto.getCourseId())) {
+                results[i] = bulkResult(i, dto, null, BulkPurchaseResultDTO.Status.COURSE_NOT_FOUND,
+                        "Course not found with ID: " + dto.getCourseId());
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // Duplicate detection: one query per chunk of candidates, then exact pair matching in memory.
+        // Pairs repeated within the request itself are caught by the same map.
+        Map<Long, Set<Long>> purchasedCourseIdsByStudent = new HashMap<>();
+        for (List<Integer> chunk : partition(candidates)) {
+            Set<Long> chunkStudentIds = new HashSet<>();
+            Set<Long> chunkCourseIds = new HashSet<>();
+            for (Integer i : chunk) {
+                chunkStudentIds.add(purchasedCourseDTOs.get(i).getStudentId());
+                chunkCourseIds.add(purchasedCourseDTOs.get(i).getCourseId());
+            }
+            for (PurchasedCourseDTO existing : purchasedCourseRepository.findDtosByStudentIdInAndCourseIdIn(chunkStudentIds, chunkCourseIds)) {
+                purchasedCourseIdsByStudent.computeIfAbsent(existing.getStudentId(), id -> new HashSet<>()).add(existing.getCourseId());
+            }
+        }
+
+        List<Integer> toInsert = new ArrayList<>();
+        for (Integer i : candidates) {
+            PurchasedCourseDTO dto = purchasedCourseDTOs.get(i);
+            if (!purchasedCourseIdsByStudent.computeIfAbsent(dto.getStudentId(), id -> new HashSet<>()).add(dto.getCourseId())) {
+                results[i] = bulkResult(i, dto, null, BulkPurchaseResultDTO.Status.DUPLICATE,
+                        "Student has already purchased this course.");
+            } else {
+                toInsert.add(i);
+            }
+        }
+
+        List<Long> generatedIds = batchInsertPurchasedCourses(toInsert, purchasedCourseDTOs);
+        SortedMap<Long, long[]> statsDeltas = new TreeMap<>(); // One counter update per course, not per purchase
+        for (int n = 0; n < toInsert.size(); n++) {
+            int i = toInsert.get(n);
+            PurchasedCourseDTO dto = purchasedCourseDTOs.get(i);
+            if (generatedIds.get(n) == null) { // Purchased concurrently since the duplicate check above
+                results[i] = bulkResult(i, dto, null, BulkPurchaseResultDTO.Status.DUPLICATE,
+                        "Student has already purchased this course.");
+                continue;
+            }
+            results[i] = bulkResult(i, dto, generatedIds.get(n), BulkPurchaseResultDTO.Status.CREATED, null);
+            long[] delta = statsDeltas.computeIfAbsent(dto.getCourseId(), id -> new long[2]);
+            delta[0]++;
+            if (Boolean.TRUE.equals(dto.getCompleted())) {
+                delta[1]++;
+            }
+        }
+        courseStatsCounters.addAll(statsDeltas);
+
+        BulkPurchaseReportDTO report = new BulkPurchaseReportDTO(Arrays.asList(results));
+        logger.info("Bulk purchase completed: {} created, {} rejected.", report.getCreated(), report.getRejected());
+        return report;
+    }
+
+    // IDENTITY ids disable Hibernate's insert batching, so bulk rows go through plain JDBC batches
+    // in the current transaction; the generated keys are read back per batch for the report.
+    // ON CONFLICT DO NOTHING skips a pair another request inserted after the duplicate check: its update count is 0,
+    // it returns no key, and its entry in the result is null, so it is reported as already purchased instead of
+    // failing the whole batch.
+    private List<Long> batchInsertPurchasedCourses(List<Integer> indexes, List<PurchasedCourseDTO> purchasedCourseDTOs) {
+        if (indexes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(indexes.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PURCHASED_COURSE_SQL, new String[]{"id"})) {
+                for (List<Integer> chunk : partition(indexes)) {
+                    for (Integer i : chunk) {
+                        PurchasedCourseDTO dto = purchasedCourseDTOs.get(i);
+                        statement.setLong(1, dto.getStudentId());
+                        statement.setLong(2, dto.getCourseId());
+                        statement.setObject(3, dto.getPurchaseDate());
+                        statement.setBoolean(4, dto.getCompleted() != null ? dto.getCompleted() : false);
+                        statement.addBatch();
+                    }
+                    int[] updateCounts = statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int updateCount : updateCounts) { // Keys come back only for inserted rows, in order
+                            ids.add(updateCount != 0 && keys.next() ? keys.getLong(1) : null);
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private static Set<Long> findExistingIds(Set<Long> ids, Function<Collection<Long>, List<Long>> lookup) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : partition(new ArrayList<>(ids))) {
+            existing.addAll(lookup.apply(chunk));
+        }
+        return existing;
+    }
 
-        PurchasedCourse purchasedCourse = new PurchasedCourse(
-                student,
-                course,
-                purchasedCourseDTO.getPurchaseDate(), // Use LocalDate directly
-                purchasedCourseDTO.getCompleted() != null ? purchasedCourseDTO.getCompleted() : false // Handle Boolean to boolean
-        );
-        PurchasedCourse savedPurchasedCourse = purchasedCourseRepository.save(purchasedCourse);
-        logger.info("Successfully created purchased course with ID: {}", savedPurchasedCourse.getId());
+    private static <T> List<List<T>> partition(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(start, Math.min(start + BULK_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
 
-        return PurchasedCourseMapper.toDto(savedPurchasedCourse); // Use mapper
+    private static BulkPurchaseResultDTO bulkResult(int index, PurchasedCourseDTO dto, Long id,
+                                                    BulkPurchaseResultDTO.Status status, String message) {
+        return new BulkPurchaseResultDTO(index, id,
+                dto != null ? dto.getStudentId() : null,
+                dto != null ? dto.getCourseId() : null,
+                status, message);
     }
 
     @Override
     public PurchasedCourseDTO getPurchasedCourseById(Long id) {
         logger.info("Attempting to retrieve purchased course with ID: {}", id);
-        PurchasedCourse purchasedCourse = purchasedCourseRepository.findById(id)
+        PurchasedCourseDTO purchasedCourse = purchasedCourseRepository.findDtoById(id) // Projection: no managed entity for a read
                 .orElseThrow(() -> {
                     logger.warn("Purchased course not found with ID: {}", id);
                     return new NoSuchElementException("Purchased course not found with ID: " + id);
                 });
         logger.info("Successfully retrieved purchased course with ID: {}", id);
 
-        return PurchasedCourseMapper.toDto(purchasedCourse); // Use mapper
+        return purchasedCourse;
+    }
+
+    @Override
+    public long getPurchasedCourseVersion(Long id) {
+        return purchasedCourseRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Purchased course not found with ID: " + id));
     }
 
     @Override
     public List<PurchasedCourseDTO> getAllPurchasedCourses() {
         logger.info("Attempting to retrieve all purchased courses.");
-        List<PurchasedCourseDTO> purchasedCourseDTOs = purchasedCourseRepository.findAll().stream()
-                .map(PurchasedCourseMapper::toDto) // Use mapper with stream
-                .collect(Collectors.toList());
+        List<PurchasedCourseDTO> purchasedCourseDTOs = purchasedCourseRepository.findAllDtos();
         logger.info("Successfully retrieved {} purchased courses.", purchasedCourseDTOs.size());
         return purchasedCourseDTOs;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PurchasedCourseDTO> getAllPurchasedCourses(Long afterId, int limit) {
+        logger.info("Attempting to retrieve up to {} purchased courses after ID {}.", limit, afterId);
+        CursorPage<PurchasedCourseDTO> page = CursorPage.fromSlice(
+                purchasedCourseRepository.findDtosAfter(CursorPage.normalizeCursor(afterId),
+                        PageRequest.of(0, CursorPage.normalizeLimit(limit))),
+                PurchasedCourseDTO::getId);
+        logger.info("Successfully retrieved {} purchased courses, next cursor: {}.", page.getItems().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // The stream's cursor must stay open while the caller consumes it
+    public void streamAllPurchasedCourses(Consumer<PurchasedCourseDTO> consumer) {
+        logger.info("Streaming all purchased courses.");
+        try (Stream<PurchasedCourseDTO> purchasedCourses = purchasedCourseRepository.streamAll()) {
+            purchasedCourses.forEach(consumer);
+        }
+    }
+
+    // Forward-only, read-only JDBC cursor handed row by row to the consumer: no entities, no persistence context and no
+    // list, so memory does not depend on the row count. PostgreSQL only honours the fetch size with autocommit off,
+    // hence the read-only transaction around the whole scan.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPurchasedCourses(boolean details, Consumer<PurchaseExportRowDTO> consumer) {
+        logger.info("Exporting all purchased courses{}.", details ? " with student and course details" : "");
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        RowCallbackHandler handler = rs -> {
+            consumer.accept(new PurchaseExportRowDTO(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                    rs.getObject(4, LocalDate.class), rs.getBoolean(5),
+                    details ? rs.getString(6) : null, details ? rs.getString(7) : null,
+                    details ? rs.getInt(8) : null));
+            rows[0]++;
+        };
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(details ? EXPORT_DETAILS_SQL : EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, handler);
+        logger.info("Exported {} purchased courses in {} ms.", rows[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
     @Override
     @Transactional
     public PurchasedCourseDTO updatePurchasedCourse(Long id, PurchasedCourseDTO purchasedCourseDTO) {
@@ -104,6 +369,9 @@ public class PurchasedCourseServiceImp implements PurchasedCourseService {
                     logger.warn("Purchased course not found for update with ID: {}", id);
                     return new NoSuchElementException("Purchased course not found with ID: " + id);
                 });
+        VersionCheck.verify(PurchasedCourse.class, id, purchasedCourseDTO.getVersion(), existingPurchasedCourse.getVersion());
+        Long previousCourseId = existingPurchasedCourse.getCourse().getId();
+        boolean wasCompleted = existingPurchasedCourse.isCompleted();
 
         // Update purchase date and completion status directly from DTO
         if (purchasedCourseDTO.getPurchaseDate() != null) {
@@ -135,7 +403,25 @@ public class PurchasedCourseServiceImp implements PurchasedCourseService {
             existingPurchasedCourse.setCourse(newCourse);
         }
 
-        PurchasedCourse updatedPurchasedCourse = purchasedCourseRepository.save(existingPurchasedCourse);
+        PurchasedCourse updatedPurchasedCourse;
+        try {
+            // Flush here so a move onto an existing (student, course) pair surfaces as the duplicate-purchase error
+            updatedPurchasedCourse = purchasedCourseRepository.saveAndFlush(existingPurchasedCourse);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Update would duplicate a purchase for student ID: {} and course ID: {}",
+                    existingPurchasedCourse.getStudent().getId(), existingPurchasedCourse.getCourse().getId());
+            throw new IllegalArgumentException("Student has already purchased this course.");
+        }
+        Long courseId = updatedPurchasedCourse.getCourse().getId();
+        boolean completed = updatedPurchasedCourse.isCompleted();
+        if (!courseId.equals(previousCourseId)) {
+            // Moved to another course: the enrollment (and completion) moves with it, in course ID order
+            courseStatsCounters.addAll(new TreeMap<>(Map.of(
+                    previousCourseId, new long[]{-1, wasCompleted ? -1 : 0},
+                    courseId, new long[]{1, completed ? 1 : 0})));
+        } else if (completed != wasCompleted) {
+            courseStatsCounters.add(courseId, 0, completed ? 1 : -1);
+        }
         logger.info("Successfully updated purchased course with ID: {}", updatedPurchasedCourse.getId());
 
         return PurchasedCourseMapper.toDto(updatedPurchasedCourse); // Use mapper
@@ -145,20 +431,21 @@ public class PurchasedCourseServiceImp implements PurchasedCourseService {
     @Transactional
     public void deletePurchasedCourse(Long id) {
         logger.info("Attempting to delete purchased course with ID: {}", id);
-        if (!purchasedCourseRepository.existsById(id)) {
-            logger.warn("Purchased course not found for deletion with ID: {}", id);
-            throw new NoSuchElementException("Purchased course not found with ID: " + id);
-        }
-        purchasedCourseRepository.deleteById(id);
+        // Loaded rather than checked with existsById: the counters need its course and completion flag
+        PurchasedCourse purchasedCourse = purchasedCourseRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("Purchased course not found for deletion with ID: {}", id);
+                    return new NoSuchElementException("Purchased course not found with ID: " + id);
+                });
+        purchasedCourseRepository.delete(purchasedCourse);
+        courseStatsCounters.add(purchasedCourse.getCourse().getId(), -1, purchasedCourse.isCompleted() ? -1 : 0);
         logger.info("Successfully deleted purchased course with ID: {}", id);
     }
 
     @Override
     public List<PurchasedCourseDTO> getPurchasedCoursesByStudentId(Long studentId) {
         logger.info("Attempting to retrieve purchased courses for student ID: {}", studentId);
-        List<PurchasedCourseDTO> purchasedCourseDTOs = purchasedCourseRepository.findByStudentId(studentId).stream()
-                .map(PurchasedCourseMapper::toDto) // Use mapper with stream
-                .collect(Collectors.toList());
+        List<PurchasedCourseDTO> purchasedCourseDTOs = purchasedCourseRepository.findDtosByStudentId(studentId);
         logger.info("Retrieved {} purchased courses for student ID: {}", purchasedCourseDTOs.size(), studentId);
         return purchasedCourseDTOs;
     }
@@ -166,9 +453,7 @@ public class PurchasedCourseServiceImp implements PurchasedCourseService {
     @Override
     public List<PurchasedCourseDTO> getPurchasedCoursesByCourseId(Long courseId) {
         logger.info("Attempting to retrieve purchased courses for course ID: {}", courseId);
-        List<PurchasedCourseDTO> purchasedCourseDTOs = purchasedCourseRepository.findByCourseId(courseId).stream()
-                .map(PurchasedCourseMapper::toDto) // Use mapper with stream
-                .collect(Collectors.toList());
+        List<PurchasedCourseDTO> purchasedCourseDTOs = purchasedCourseRepository.findDtosByCourseId(courseId);
         logger.info("Retrieved {} purchased courses for course ID: {}", purchasedCourseDTOs.size(), courseId);
         return purchasedCourseDTOs;
     }
@@ -0,0 +1,188 @@
+package com.hcltech.courseacademy.service;
+
+import com.hcltech.courseacademy.repository.StudentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of existing student emails, so signups with a new email skip the duplicate lookup.
+ * <p>
+ * A "no" from {@link #mightContain} is definite; a "maybe" still goes to the database. The filter is built once the
+ * application is ready and answers "maybe" until then. It can drift from the table (a concurrent write during a
+ * rebuild, rows written outside the service); that only costs extra lookups or, rarely, a skipped one, which the
+ * unique email constraint still catches. Rebuilt with twice the capacity once it holds more emails than it was
+ * sized for.
+ */
+@Component
+public class StudentEmailFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentEmailFilter.class);
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final long minimumCapacity;
+    private final double falsePositiveRate;
+
+    private volatile CountingBloomFilter filter;   // null until the first build
+    private volatile CountingBloomFilter building; // also receives the emails added while a rebuild runs
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final AtomicLong definiteMisses = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong truePositives = new AtomicLong();
+
+    public StudentEmailFilter(StudentRepository studentRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                              @Value("${students.email-filter.expected-insertions:1000000}") long minimumCapacity,
+                              @Value("${students.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.studentRepository = studentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Loads every email into a fresh filter and swaps it in; concurrent calls are dropped while one runs
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            CountingBloomFilter next = new CountingBloomFilter(Math.max(minimumCapacity, studentRepository.count() * 2),
+                    falsePositiveRate);
+            building = next;
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = studentRepository.streamAllEmails()) {
+                    emails.forEach(next::add);
+                }
+            });
+            filter = next;
+            logger.info("Student email filter built with {} emails ({} KiB, capacity {}) in {} ms.", next.elements(),
+                    next.memoryBytes() / 1024, next.capacity(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    // False means the email is certainly not taken; true means it has to be checked against the database
+    public boolean mightContain(String email) {
+        CountingBloomFilter current = filter;
+        if (email == null || current == null) {
+            return true;
+        }
+        if (current.mightContain(email)) {
+            return true;
+        }
+        definiteMisses.incrementAndGet();
+        return false;
+    }
+
+    // Outcome of the database lookup that followed a "maybe", for the observed false-positive rate
+    public void recordLookup(boolean found) {
+        (found ? truePositives : falsePositives).incrementAndGet();
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        CountingBloomFilter current = filter;
+        CountingBloomFilter next = building;
+        if (current != null) {
+            current.add(email);
+            if (current.elements() > current.capacity() && !rebuilding.get()) {
+                logger.info("Student email filter over capacity ({} emails); rebuilding.", current.elements());
+                taskExecutor.execute(this::rebuild);
+            }
+        }
+        if (next != null && next != current) {
+            next.add(email);
+        }
+    }
+
+    // Removal waits for the commit: until then the old email is still in the table
+    public void removeAfterCommit(String email) {
+        if (email == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        } else {
+            remove(email);
+        }
+    }
+
+    private void remove(String email) {
+        CountingBloomFilter current = filter;
+        if (current != null) {
+            current.remove(email);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("students.email.filter.false.positive.rate.estimated", this,
+                        f -> f.filter != null ? f.filter.estimatedFalsePositiveRate() : Double.NaN)
+                .description("False-positive probability implied by the filter's current fill")
+                .register(registry);
+        Gauge.builder("students.email.filter.false.positive.rate.observed", this, StudentEmailFilter::observedFalsePositiveRate)
+                .description("Share of lookups for new emails that the filter could not rule out")
+                .register(registry);
+        Gauge.builder("students.email.filter.memory", this, f -> f.filter != null ? f.filter.memoryBytes() : 0)
+                .description("Heap used by the filter's counters")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("students.email.filter.elements", this, f -> f.filter != null ? f.filter.elements() : 0)
+                .description("Emails currently in the filter")
+                .register(registry);
+        FunctionCounter.builder("students.email.filter.checks", definiteMisses, AtomicLong::get)
+                .tag("outcome", "definite_miss")
+                .description("Email checks answered by the filter, by outcome")
+                .register(registry);
+        FunctionCounter.builder("students.email.filter.checks", falsePositives, AtomicLong::get)
+                .tag("outcome", "false_positive")
+                .register(registry);
+        FunctionCounter.builder("students.email.filter.checks", truePositives, AtomicLong::get)
+                .tag("outcome", "true_positive")
+                .register(registry);
+    }
+
+    double observedFalsePositiveRate() {
+        long misses = falsePositives.get() + definiteMisses.get();
+        return misses == 0 ? 0.0 : (double) falsePositives.get() / misses;
+    }
+}
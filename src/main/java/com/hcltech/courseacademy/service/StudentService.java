@@ -1,13 +1,18 @@
 package com.hcltech.courseacademy.service;
 
 import com.hcltech.courseacademy.dto.StudentDTO;
+import com.hcltech.courseacademy.dto.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
     StudentDTO createStudent(StudentDTO studentDTO);
     StudentDTO getStudentById(Long id);
+    long getStudentVersion(Long id);
     List<StudentDTO> getAllStudents();
+    CursorPage<StudentDTO> getAllStudents(Long afterId, int limit);
+    void streamAllStudents(Consumer<StudentDTO> consumer);
     StudentDTO updateStudent(Long id, StudentDTO studentDTO);
     void deleteStudent(Long id);
 
@@ -1,25 +1,35 @@
 package com.hcltech.courseacademy.service;
 
+import com.hcltech.courseacademy.dto.CursorPage;
 import com.hcltech.courseacademy.dto.StudentDTO;
 import com.hcltech.courseacademy.entity.Student;
 import com.hcltech.courseacademy.repository.StudentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class StudentServiceImp implements StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentServiceImp.class);
+    // SQLSTATE for a unique constraint violation (PostgreSQL and H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final StudentRepository studentRepository;
+    private final StudentEmailFilter studentEmailFilter;
 
-    public StudentServiceImp(StudentRepository studentRepository) {
+    public StudentServiceImp(StudentRepository studentRepository, StudentEmailFilter studentEmailFilter) {
         this.studentRepository = studentRepository;
+        this.studentEmailFilter = studentEmailFilter;
     }
 
     @Override
@@ -27,7 +37,7 @@ public class StudentServiceImp implements StudentService {
     public StudentDTO createStudent(StudentDTO studentDTO) {
         logger.info("Attempting to create student with email: {}", studentDTO.getEmail());
 
-        if (studentRepository.findByEmail(studentDTO.getEmail()).isPresent()) {
+        if (emailExists(studentDTO.getEmail())) {
             logger.warn("Student with email {} already exists.", studentDTO.getEmail());
             throw new IllegalStateException("Student with email " + studentDTO.getEmail() + " already exists.");
         }
@@ -38,55 +48,70 @@ public class StudentServiceImp implements StudentService {
                 studentDTO.getFirstName(),
                 studentDTO.getLastName()
         );
-        Student savedStudent = studentRepository.save(student);
+        Student savedStudent;
+        try {
+            savedStudent = studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException e) {
+            // The unique constraint is the final authority: a concurrent signup, or a check the filter skipped
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            logger.warn("Student with email {} already exists.", studentDTO.getEmail());
+            throw new IllegalStateException("Student with email " + studentDTO.getEmail() + " already exists.");
+        }
+        studentEmailFilter.add(savedStudent.getEmail());
         logger.info("Successfully created student with ID: {}", savedStudent.getId());
 
         return new StudentDTO(
                 savedStudent.getId(),
                 savedStudent.getEmail(),
                 savedStudent.getFirstName(),
-                savedStudent.getLastName()
+                savedStudent.getLastName(),
+                savedStudent.getVersion()
         );
     }
 
     @Override
     public StudentDTO getStudentById(Long id) {
         logger.info("Attempting to retrieve student with ID: {}", id);
-        Student student = studentRepository.findById((id))
+        StudentDTO student = studentRepository.findDtoById(id) // Projection: no managed entity for a read
                 .orElseThrow(() -> {
                     logger.warn("Student not found with ID: {}", id);
                     return new NoSuchElementException("Student not found with ID: " + id);
                 });
         logger.info("Successfully retrieved student with ID: {}", id);
+        return student;
+    }
 
-
-        return new StudentDTO(
-                student.getId(),
-                student.getEmail(),
-                student.getFirstName(),
-                student.getLastName()
-        );
+    @Override
+    public long getStudentVersion(Long id) {
+        return studentRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Student not found with ID: " + id));
     }
 
     @Override
     public List<StudentDTO> getAllStudents() {
         logger.info("Attempting to retrieve all students.");
-        List<Student> students = studentRepository.findAll();
+        return studentRepository.findAllDtos();
+    }
 
-        List<StudentDTO> studentDTOs = new ArrayList<>();
-        if (students.isEmpty()) {
-            return studentDTOs; // Return empty list immediately
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<StudentDTO> getAllStudents(Long afterId, int limit) {
+        logger.info("Attempting to retrieve up to {} students after ID {}.", limit, afterId);
+        return CursorPage.fromSlice(
+                studentRepository.findDtosAfter(CursorPage.normalizeCursor(afterId),
+                        PageRequest.of(0, CursorPage.normalizeLimit(limit))),
+                StudentDTO::getId);
+    }
 
-        for (Student student : students) {
-            studentDTOs.add(new StudentDTO(
-                    student.getId(),
-                    student.getEmail(),
-                    student.getFirstName(),
-                    student.getLastName()
-            ));
+    @Override
+    @Transactional(readOnly = true) // The stream's cursor must stay open while the caller consumes it
+    public void streamAllStudents(Consumer<StudentDTO> consumer) {
+        logger.info("Streaming all students.");
+        try (Stream<StudentDTO> students = studentRepository.streamAll()) {
+            students.forEach(consumer);
         }
-        return studentDTOs;
     }
 
     @Override
@@ -98,10 +123,12 @@ public class StudentServiceImp implements StudentService {
                     logger.warn("Student not found for update with ID: {}", id);
                     return new NoSuchElementException("Student not found with ID: " + id);
                 });
+        VersionCheck.verify(Student.class, id, studentDTO.getVersion(), existingStudent.getVersion());
 
 
-        if (!existingStudent.getEmail().equals(studentDTO.getEmail()) &&
-                studentRepository.findByEmail(studentDTO.getEmail()).isPresent()) {
+        String previousEmail = existingStudent.getEmail();
+        boolean emailChanged = !previousEmail.equals(studentDTO.getEmail());
+        if (emailChanged && emailExists(studentDTO.getEmail())) {
             logger.warn("Attempt to update student ID {} with email {} which already exists for another student.", id, studentDTO.getEmail());
             throw new IllegalStateException("Email " + studentDTO.getEmail() + " is already taken by another student.");
         }
@@ -111,7 +138,20 @@ public class StudentServiceImp implements StudentService {
         existingStudent.setFirstName(studentDTO.getFirstName());
         existingStudent.setLastName(studentDTO.getLastName());
 
-        Student updatedStudent = studentRepository.save(existingStudent);
+        Student updatedStudent;
+        try {
+            updatedStudent = studentRepository.saveAndFlush(existingStudent);
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            logger.warn("Attempt to update student ID {} with email {} which already exists for another student.", id, studentDTO.getEmail());
+            throw new IllegalStateException("Email " + studentDTO.getEmail() + " is already taken by another student.");
+        }
+        if (emailChanged) {
+            studentEmailFilter.add(updatedStudent.getEmail());
+            studentEmailFilter.removeAfterCommit(previousEmail);
+        }
         logger.info("Successfully updated student with ID: {}", updatedStudent.getId());
 
 
@@ -119,7 +159,8 @@ public class StudentServiceImp implements StudentService {
                 updatedStudent.getId(),
                 updatedStudent.getEmail(),
                 updatedStudent.getFirstName(),
-                updatedStudent.getLastName()
+                updatedStudent.getLastName(),
+                updatedStudent.getVersion()
         );
     }
 
@@ -127,29 +168,44 @@ public class StudentServiceImp implements StudentService {
     @Transactional
     public void deleteStudent(Long id) {
         logger.info("Attempting to delete student with ID: {}", id);
-        if (!studentRepository.existsById(id)) {
-            logger.warn("Student not found for deletion with ID: {}", id);
-            throw new NoSuchElementException("Student not found with ID: " + id);
-        }
-        studentRepository.deleteById(id);
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("Student not found for deletion with ID: {}", id);
+                    return new NoSuchElementException("Student not found with ID: " + id);
+                });
+        studentRepository.delete(student);
+        studentEmailFilter.removeAfterCommit(student.getEmail());
         logger.info("Successfully deleted student with ID: {}", id);
     }
 
     @Override
     public StudentDTO getStudentByEmail(String email) {
         logger.info("Attempting to retrieve student by email: {}", email);
-        Student student = (Student) studentRepository.findByEmail(email)
+        StudentDTO student = studentRepository.findDtoByEmail(email)
                 .orElseThrow(() -> {
                     logger.warn("Student not found with email: {}", email);
                     return new NoSuchElementException("Student not found with email: " + email);
                 });
         logger.info("Successfully retrieved student with ID: {} by email.", student.getId());
+        return student;
+    }
 
-        return new StudentDTO(
-                student.getId(),
-                student.getEmail(),
-                student.getFirstName(),
-                student.getLastName()
-        );
+    // Most signups use a new email: the filter rules those out without a query, only a "maybe" is looked up
+    private boolean emailExists(String email) {
+        if (!studentEmailFilter.mightContain(email)) {
+            return false;
+        }
+        boolean exists = studentRepository.existsByEmail(email);
+        studentEmailFilter.recordLookup(exists);
+        return exists;
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && UNIQUE_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
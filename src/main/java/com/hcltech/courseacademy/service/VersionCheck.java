@@ -0,0 +1,20 @@
+package com.hcltech.courseacademy.service;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Compares the version an update was based on (from If-Match or the request body) with the row's current version.
+ * Writes that raced past this check are still caught by Hibernate's {@code where version = ?} on flush.
+ */
+final class VersionCheck {
+
+    private VersionCheck() {
+    }
+
+    // A null expected version means an unconditional write
+    static void verify(Class<?> entityClass, Long id, Long expectedVersion, long currentVersion) {
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Manual step before migration V2 on databases that hold duplicate purchases (V2 fails on them).
+-- Keeps the first purchase (lowest id) of every (student_id, course_id) pair and moves the others to
+-- purchased_courses_duplicates, together with the id of the purchase that was kept. Not a Flyway migration:
+-- run it once, in one transaction, e.g. psql --single-transaction -f purchased_courses_duplicates.sql
+
+create table purchased_courses_duplicates (
+    id            bigint  primary key,
+    purchase_date date    not null,
+    completed     boolean not null,
+    student_id    bigint  not null,
+    course_id     bigint  not null,
+    kept_id       bigint  not null
+);
+
+insert into purchased_courses_duplicates (id, purchase_date, completed, student_id, course_id, kept_id)
+select p.id, p.purchase_date, p.completed, p.student_id, p.course_id, k.kept_id
+from purchased_courses p
+         join (select student_id, course_id, min(id) as kept_id
+               from purchased_courses
+               group by student_id, course_id
+               having count(*) > 1) k on k.student_id = p.student_id and k.course_id = p.course_id
+where p.id <> k.kept_id;
+
+delete from purchased_courses where id in (select id from purchased_courses_duplicates);
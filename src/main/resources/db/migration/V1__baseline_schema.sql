@@ -0,0 +1,46 @@
+-- Baseline: the schema Hibernate generated from the entities while the project ran with ddl-auto=update.
+-- Databases that already have it are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+
+create table authors (
+    id        bigint generated by default as identity primary key,
+    firstname varchar(255) not null,
+    lastname  varchar(255) not null,
+    email     varchar(255) not null,
+    constraint uk_authors_email unique (email)
+);
+
+create table courses (
+    id          bigint generated by default as identity primary key,
+    title       varchar(255) not null,
+    description text,
+    price       integer      not null,
+    author_id   bigint,
+    constraint uk_courses_title unique (title),
+    constraint fk_courses_author foreign key (author_id) references authors (id)
+);
+
+create table modules (
+    id        bigint generated by default as identity primary key,
+    title     varchar(255) not null,
+    content   text,
+    course_id bigint       not null,
+    constraint fk_modules_course foreign key (course_id) references courses (id)
+);
+
+create table students (
+    id         bigint generated by default as identity primary key,
+    email      varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    constraint uk_students_email unique (email)
+);
+
+create table purchased_courses (
+    id            bigint generated by default as identity primary key,
+    purchase_date date    not null,
+    completed     boolean not null,
+    student_id    bigint  not null,
+    course_id     bigint  not null,
+    constraint fk_purchased_courses_student foreign key (student_id) references students (id),
+    constraint fk_purchased_courses_course foreign key (course_id) references courses (id)
+);
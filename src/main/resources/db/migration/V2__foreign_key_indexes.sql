@@ -0,0 +1,13 @@
+-- Indexes for the foreign-key lookups (findByStudentId, findByCourseId, findByStudentIdAndCourseId,
+-- CourseModuleRepository.findByCourseId, CourseRepository.findByAuthorId); foreign keys are not indexed implicitly.
+
+-- A student buys a course once. Databases that ran with the unconstrained schema may hold duplicate purchases;
+-- the unique index then fails to build and the migration stops, naming a duplicated (student_id, course_id).
+-- Nothing is deleted here: review the duplicates and run db/cleanup/purchased_courses_duplicates.sql, which moves
+-- all but the first purchase of each pair to an audit table, then start the application again. (PostgreSQL rolls the
+-- failed migration back; databases without transactional DDL record it as failed and need flyway repair first.)
+-- Also serves the lookups by student_id alone (leading column)
+create unique index ux_purchased_courses_student_course on purchased_courses (student_id, course_id);
+create index ix_purchased_courses_course on purchased_courses (course_id);
+create index ix_modules_course on modules (course_id);
+create index ix_courses_author on courses (author_id);
@@ -0,0 +1,7 @@
+-- Optimistic-lock versions (JPA @Version), also served as the ETag of each resource.
+-- Existing rows and rows inserted by the raw JDBC paths (bulk purchases, synthetic data) start at 0 from the default.
+alter table authors add column version bigint default 0 not null;
+alter table courses add column version bigint default 0 not null;
+alter table modules add column version bigint default 0 not null;
+alter table students add column version bigint default 0 not null;
+alter table purchased_courses add column version bigint default 0 not null;
@@ -0,0 +1,17 @@
+-- Denormalized enrollment and completion counters per course (CourseStatsCounters), changed in the same transaction
+-- as every purchase write. A course's counters are spread over a few stripe rows, so concurrent purchases of one
+-- popular course rarely wait for the same row lock; its totals are the sum of its stripes.
+create table course_stats (
+    course_id   bigint   not null,
+    stripe      smallint not null,
+    enrollments bigint   default 0 not null,
+    completions bigint   default 0 not null,
+    constraint pk_course_stats primary key (course_id, stripe),
+    constraint fk_course_stats_course foreign key (course_id) references courses (id) on delete cascade
+);
+
+-- Counters for the purchases already there
+insert into course_stats (course_id, stripe, enrollments, completions)
+select course_id, 0, count(*), sum(case when completed then 1 else 0 end)
+from purchased_courses
+group by course_id;
@@ -0,0 +1,12 @@
+-- Materialized per-author dashboard figures (AuthorSummaryView): course count, distinct students and revenue
+-- (the sum of the course price over the author's purchases). Recomputed in bulk on a schedule; a row is only ever
+-- read by its primary key.
+create table author_summary (
+    author_id     bigint    not null,
+    course_count  bigint    default 0 not null,
+    student_count bigint    default 0 not null,
+    revenue       bigint    default 0 not null,
+    refreshed_at  timestamp not null,
+    constraint pk_author_summary primary key (author_id),
+    constraint fk_author_summary_author foreign key (author_id) references authors (id) on delete cascade
+);
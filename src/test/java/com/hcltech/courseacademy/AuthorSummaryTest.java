@@ -0,0 +1,125 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.AuthorSummaryDTO;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.service.AuthorService;
+import com.hcltech.courseacademy.service.AuthorSummaryView;
+import com.hcltech.courseacademy.service.CourseService;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import com.hcltech.courseacademy.service.StudentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Materialized author summary; same context as CourseDetailTest
+@PerfDataTest
+class AuthorSummaryTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private PurchasedCourseService purchasedCourseService;
+
+    @Autowired
+    private AuthorSummaryView authorSummaryView;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("after a refresh every author's figures match the purchases behind them")
+    void refreshAll_MatchesLiveAggregates() {
+        authorSummaryView.refreshAll();
+
+        Long authorId = authorService.getAllAuthors().get(0).getId();
+        AuthorSummaryDTO summary = authorService.getAuthorSummary(authorId);
+
+        assertEquals(authorId, summary.getAuthorId());
+        assertEquals(count("select count(*) from courses where author_id = ?", authorId), summary.getCourseCount());
+        assertEquals(count("select count(distinct p.student_id) from purchased_courses p "
+                + "join courses c on c.id = p.course_id where c.author_id = ?", authorId), summary.getStudentCount());
+        assertEquals(count("select coalesce(sum(c.price), 0) from purchased_courses p "
+                + "join courses c on c.id = p.course_id where c.author_id = ?", authorId), summary.getRevenue());
+        assertEquals(count("select count(*) from authors"), count("select count(*) from author_summary"));
+    }
+
+    @Test
+    @DisplayName("a student is counted once across an author's courses, and revenue sums every purchase")
+    void newAuthor_SummarizedOnFirstRead() {
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Summary", "Author", "summary-author@example.com"));
+        CourseDTO first = courseService.createCourse(new CourseDTO(null, "Summary One", null, 100, author.getId()));
+        CourseDTO second = courseService.createCourse(new CourseDTO(null, "Summary Two", null, 250, author.getId()));
+        Long student = studentService.getStudentByEmail("student0@perf.example.com").getId();
+        Long otherStudent = studentService.getStudentByEmail("student1@perf.example.com").getId();
+        purchase(student, first.getId());
+        purchase(student, second.getId());
+        purchase(otherStudent, second.getId());
+
+        AuthorSummaryDTO summary = authorService.getAuthorSummary(author.getId());
+
+        assertEquals(2, summary.getCourseCount());
+        assertEquals(2, summary.getStudentCount());
+        assertEquals(600, summary.getRevenue());
+        assertTrue(authorSummaryView.find(author.getId()).isPresent()); // Stored until the next refresh replaces it
+    }
+
+    @Test
+    @DisplayName("authors summarized on first read while the bulk refresh runs neither fail it nor get lost")
+    void refreshAll_ConcurrentFirstReads() {
+        AtomicBoolean reading = new AtomicBoolean(true);
+        CompletableFuture<Integer> refreshes = CompletableFuture.supplyAsync(() -> {
+            int runs = 0;
+            while (reading.get() || runs == 0) {
+                authorSummaryView.refreshAll();
+                runs++;
+            }
+            return runs;
+        });
+        try {
+            for (int i = 0; i < 200 && !refreshes.isDone(); i++) {
+                AuthorDTO author = authorService.createAuthor(
+                        new AuthorDTO(null, "Concurrent", "Author" + i, "concurrent-summary-" + i + "@example.com"));
+                courseService.createCourse(new CourseDTO(null, "Concurrent Summary " + i, null, 10, author.getId()));
+                assertEquals(author.getId(), authorService.getAuthorSummary(author.getId()).getAuthorId()); // May predate the course
+            }
+        } finally {
+            reading.set(false);
+        }
+
+        assertTrue(refreshes.join() > 0); // Rethrows a failed refresh
+        assertEquals(count("select count(*) from authors"), count("select count(*) from author_summary"));
+    }
+
+    @Test
+    @DisplayName("an unknown author is reported as not found")
+    void getAuthorSummary_UnknownAuthor() {
+        assertThrows(NoSuchElementException.class, () -> authorService.getAuthorSummary(Long.MAX_VALUE));
+    }
+
+    private void purchase(Long studentId, Long courseId) {
+        purchasedCourseService.createPurchasedCourse(new PurchasedCourseDTO(null, studentId, courseId, LocalDate.now(), false));
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
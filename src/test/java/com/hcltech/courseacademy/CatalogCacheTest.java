@@ -0,0 +1,75 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.service.AuthorService;
+import com.hcltech.courseacademy.service.CourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Catalog caches around uncommitted writes; same context as CourseAcademyServiceApplicationTests
+@PerfDataTest
+class CatalogCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("a reader between write and commit gets the committed course, and the cache follows the commit")
+    void updateCourse_ReadBeforeCommit_SeesCommittedState() {
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Cache", "Author", "cache-author@example.com"));
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Cached v1", null, 10, author.getId()));
+        courseService.getCourseById(course.getId()); // Warm both caches
+        authorService.getCoursesByAuthor(author.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            courseService.updateCourse(course.getId(),
+                    new CourseDTO(null, "Cached v2", null, 10, author.getId(), course.getVersion()));
+            // Another request, on its own connection, while the update is flushed but not committed
+            assertEquals(List.of("Cached v1"), readInOtherThread(course.getId(), author.getId()));
+        });
+
+        assertEquals(List.of("Cached v2"), readInOtherThread(course.getId(), author.getId()));
+    }
+
+    @Test
+    @DisplayName("a write that rolls back leaves no trace in the cache")
+    void updateCourse_RolledBack_NotCached() {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Kept title", null, 10, null));
+        courseService.getCourseById(course.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            courseService.updateCourse(course.getId(), new CourseDTO(null, "Rolled back", null, 10, null, course.getVersion()));
+            status.setRollbackOnly();
+        });
+
+        assertEquals("Kept title", courseService.getCourseById(course.getId()).getTitle());
+        courseService.deleteCourse(course.getId());
+    }
+
+    // The course's title as cached by id, followed by any distinct title in its author's cached list
+    private List<String> readInOtherThread(Long courseId, Long authorId) {
+        return CompletableFuture.supplyAsync(() -> {
+            String byId = courseService.getCourseById(courseId).getTitle();
+            List<String> byAuthor = authorService.getCoursesByAuthor(authorId).stream()
+                    .filter(c -> c.getId().equals(courseId)).map(CourseDTO::getTitle).collect(Collectors.toList());
+            assertEquals(List.of(byId), byAuthor);
+            return List.of(byId);
+        }).join();
+    }
+}
@@ -0,0 +1,121 @@
+package com.hcltech.courseacademy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.service.CourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETags from the version column and the If-None-Match / If-Match handling, end to end on the perf profile's database
+@PerfDataTest
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    @DisplayName("GET returns the version as ETag and answers a matching If-None-Match with 304")
+    void getCourse_IfNoneMatch_NotModified() throws Exception {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Etag Basics", null, 10, null));
+
+        mockMvc.perform(get("/api/courses/{id}", course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").value(0));
+
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("PUT with a current If-Match succeeds and returns the new ETag; a stale one gets 412")
+    void updateCourse_IfMatch() throws Exception {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Etag Updates", null, 10, null));
+        String body = objectMapper.writeValueAsString(new CourseDTO(null, "Etag Updates v2", null, 20, null));
+
+        mockMvc.perform(put("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("Etag Updates v2", courseService.getCourseById(course.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("an update based on an outdated version in the body is rejected")
+    void updateCourse_StaleBodyVersion_Rejected() throws Exception {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Etag Races", null, 10, null));
+        CourseDTO first = new CourseDTO(null, "Etag Races v2", null, 20, null);
+        first.setVersion(0L);
+        courseService.updateCourse(course.getId(), first);
+
+        CourseDTO stale = new CourseDTO(null, "Etag Races lost", null, 30, null);
+        stale.setVersion(0L);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> courseService.updateCourse(course.getId(), stale));
+
+        mockMvc.perform(put("/api/courses/{id}", course.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(stale)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("each wire format has its own ETag, responses vary by Accept, and If-Match takes any of them")
+    void getCourse_BinaryFormats_OwnETag() throws Exception {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Etag Formats", null, 10, null));
+
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).accept("application/x-jackson-smile"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-smile\""));
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).accept(MediaType.ALL))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk()); // The JSON bytes are not a CBOR client's cached copy
+        mockMvc.perform(get("/api/courses/{id}", course.getId()).accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-cbor\""));
+
+        mockMvc.perform(put("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, "\"0-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CourseDTO(null, "Etag Formats v2", null, 20, null))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+}
@@ -1,9 +1,9 @@
 package com.hcltech.courseacademy;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Runs on the perf profile's embedded database, with just enough synthetic rows to exercise the generator
+@PerfDataTest
 class CourseAcademyServiceApplicationTests {
 
 	@Test
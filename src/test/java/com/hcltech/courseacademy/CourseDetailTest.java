@@ -0,0 +1,90 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseDetailDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.service.AuthorService;
+import com.hcltech.courseacademy.service.CourseModuleService;
+import com.hcltech.courseacademy.service.CourseService;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import com.hcltech.courseacademy.service.StudentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Course page aggregate; same context as CourseAcademyServiceApplicationTests
+@PerfDataTest
+class CourseDetailTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private CourseModuleService courseModuleService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private PurchasedCourseService purchasedCourseService;
+
+    @Test
+    @DisplayName("detail combines the course, its author, its modules in order and its enrollment count")
+    void getCourseDetail_AssemblesAggregate() {
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Detail", "Author", "detail-author@example.com"));
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Detail Course", "One call", 300, author.getId()));
+        Long first = courseModuleService.createModule(new CourseModuleDTO(null, "Intro", "Welcome", course.getId())).getId();
+        Long second = courseModuleService.createModule(new CourseModuleDTO(null, "Next", "More", course.getId())).getId();
+        for (int i = 0; i < 3; i++) {
+            Long studentId = studentService.getStudentByEmail("student" + i + "@perf.example.com").getId();
+            purchasedCourseService.createPurchasedCourse(
+                    new PurchasedCourseDTO(null, studentId, course.getId(), LocalDate.now(), false));
+        }
+
+        CourseDetailDTO detail = courseService.getCourseDetail(course.getId());
+
+        assertEquals("Detail Course", detail.getCourse().getTitle());
+        assertEquals(300, detail.getCourse().getPrice());
+        assertEquals(author.getId(), detail.getAuthor().getId());
+        assertEquals("detail-author@example.com", detail.getAuthor().getEmail());
+        assertEquals(List.of(first, second),
+                detail.getModules().stream().map(CourseModuleSummaryDTO::getId).collect(Collectors.toList()));
+        assertEquals("Intro", detail.getModules().get(0).getTitle());
+        assertEquals(3, detail.getEnrollmentCount());
+    }
+
+    @Test
+    @DisplayName("a course without author or modules still has a detail view")
+    void getCourseDetail_NoAuthorNoModules() {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Bare Detail Course", null, 10, null));
+
+        CourseDetailDTO detail = courseService.getCourseDetail(course.getId());
+
+        assertEquals(course.getId(), detail.getCourse().getId());
+        assertNull(detail.getAuthor());
+        assertTrue(detail.getModules().isEmpty());
+        assertEquals(0, detail.getEnrollmentCount());
+    }
+
+    @Test
+    @DisplayName("an unknown course is reported as not found")
+    void getCourseDetail_UnknownCourse() {
+        assertThrows(NoSuchElementException.class, () -> courseService.getCourseDetail(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,124 @@
+package com.hcltech.courseacademy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcltech.courseacademy.dto.AuthorDTO;
+import com.hcltech.courseacademy.dto.CourseSearchHitDTO;
+import com.hcltech.courseacademy.service.AuthorService;
+import com.hcltech.courseacademy.service.CourseSearchIndex;
+import com.hcltech.courseacademy.service.CourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Streaming course import through the endpoint; same context as ConditionalRequestTest
+@PerfDataTest
+@AutoConfigureMockMvc
+class CourseImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("a JSON array imports valid courses with their modules and reports the rejected ones")
+    void importCourses_JsonArray() throws Exception {
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, "Import", "Author", "import-author@example.com"));
+        String body = "[" +
+                "{\"title\":\"Import Pangolins\",\"description\":\"Scales\",\"price\":120,\"authorId\":" + author.getId() + "," +
+                "\"modules\":[{\"title\":\"Anatomy\",\"content\":\"Keratin scales\"},{\"title\":\"Diet\",\"content\":\"Ants\"}]}," +
+                "{\"title\":\"Import Orphan\",\"price\":10,\"authorId\":" + Long.MAX_VALUE + "}," +
+                "{\"title\":\"Import Pangolins\",\"price\":5}," + // Repeats the first title
+                "{\"description\":\"No title\",\"price\":5}" +
+                "]";
+
+        JsonNode report = importDocument(MediaType.APPLICATION_JSON, body, status().isOk());
+
+        assertEquals(4, report.get("received").asLong());
+        assertEquals(1, report.get("coursesCreated").asLong());
+        assertEquals(2, report.get("modulesCreated").asLong());
+        assertEquals(3, report.get("rejected").asLong());
+        assertEquals(List.of(1L, 2L, 3L), errorIndexes(report));
+        assertEquals(List.of("Anatomy", "Diet"), jdbcTemplate.queryForList(
+                "select m.title from modules m join courses c on c.id = m.course_id where c.title = ? order by m.id",
+                String.class, "Import Pangolins"));
+
+        courseSearchIndex.refresh();
+        List<CourseSearchHitDTO> hits = courseService.searchCourses("keratin", 0, 10).getHits();
+        assertEquals(1, hits.size());
+        assertEquals(CourseSearchHitDTO.Type.MODULE, hits.get(0).getType());
+    }
+
+    @Test
+    @DisplayName("NDJSON spanning several chunks is imported completely")
+    void importCourses_NdjsonAcrossChunks() throws Exception {
+        int courses = 1_200; // Three chunks of up to 500
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < courses; i++) {
+            body.append("{\"title\":\"Ndjson Import ").append(i).append("\",\"price\":").append(i)
+                    .append(",\"modules\":[{\"title\":\"Only module\"}]}\n");
+        }
+
+        JsonNode report = importDocument(MediaType.APPLICATION_NDJSON, body.toString(), status().isOk());
+
+        assertEquals(courses, report.get("coursesCreated").asLong());
+        assertEquals(courses, report.get("modulesCreated").asLong());
+        assertEquals(0, report.get("rejected").asLong());
+        assertEquals(courses, jdbcTemplate.queryForObject(
+                "select count(*) from courses where title like 'Ndjson Import %'", Long.class));
+    }
+
+    @Test
+    @DisplayName("a malformed document keeps the courses before the error and reports where it stopped")
+    void importCourses_MalformedInput() throws Exception {
+        String body = "{\"title\":\"Malformed Import First\",\"price\":1}\n" +
+                "{\"title\":\"Malformed Import Second\",\"price\":\n";
+
+        JsonNode report = importDocument(MediaType.APPLICATION_NDJSON, body, status().isBadRequest());
+
+        assertEquals(false, report.get("complete").asBoolean());
+        assertEquals(1, report.get("coursesCreated").asLong());
+        assertEquals(List.of(1L), errorIndexes(report));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from courses where title like 'Malformed Import %'", Long.class));
+    }
+
+    private JsonNode importDocument(MediaType contentType, String body, ResultMatcher expectedStatus) throws Exception {
+        String response = mockMvc.perform(post("/api/courses/import").contentType(contentType).content(body))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static List<Long> errorIndexes(JsonNode report) {
+        List<Long> indexes = new ArrayList<>();
+        report.get("errors").forEach(error -> indexes.add(error.get("index").asLong()));
+        return indexes;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseSearchHitDTO;
+import com.hcltech.courseacademy.dto.CourseSearchResultDTO;
+import com.hcltech.courseacademy.service.CourseModuleService;
+import com.hcltech.courseacademy.service.CourseSearchIndex;
+import com.hcltech.courseacademy.service.CourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Search index maintenance through the service write paths; same context as CourseAcademyServiceApplicationTests
+@PerfDataTest
+class CourseSearchTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseModuleService courseModuleService;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Test
+    @DisplayName("the index is built from the existing catalog at startup")
+    void search_ExistingCourses_FoundAfterStartup() {
+        CourseSearchResultDTO result = courseService.searchCourses("course", 0, 5);
+
+        assertTrue(result.getTotalHits() >= 20); // Every synthetic course title starts with "Course"
+        assertEquals(5, result.getHits().size());
+        assertEquals(CourseSearchHitDTO.Type.COURSE, result.getHits().get(0).getType());
+    }
+
+    @Test
+    @DisplayName("a title match outranks a module content match, and modules point back to their course")
+    void search_CreatedCourseAndModule_RankedByField() throws IOException {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Quokka Husbandry", "Caring for marsupials", 100, null));
+        CourseModuleDTO module = courseModuleService.createModule(
+                new CourseModuleDTO(null, "Feeding", "What a quokka eats in the wild", course.getId()));
+        courseSearchIndex.refresh();
+
+        List<CourseSearchHitDTO> hits = courseService.searchCourses("quokka", 0, 10).getHits();
+
+        assertEquals(2, hits.size());
+        assertEquals(CourseSearchHitDTO.Type.COURSE, hits.get(0).getType());
+        assertEquals(course.getId(), hits.get(0).getCourseId());
+        assertNull(hits.get(0).getModuleId());
+        assertEquals(CourseSearchHitDTO.Type.MODULE, hits.get(1).getType());
+        assertEquals(module.getId(), hits.get(1).getModuleId());
+        assertEquals(course.getId(), hits.get(1).getCourseId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("updates replace the indexed text and deletes remove a course with its modules")
+    void search_UpdateAndDelete_IndexFollows() throws IOException {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Axolotl Basics", null, 50, null));
+        CourseModuleDTO module = courseModuleService.createModule(
+                new CourseModuleDTO(null, "Gills", "Axolotl regeneration", course.getId()));
+        courseService.updateCourse(course.getId(), new CourseDTO(null, "Salamander Basics", null, 50, null));
+        courseModuleService.updateModule(module.getId(), new CourseModuleDTO(null, "Gills", "Limb regrowth", course.getId()));
+        courseSearchIndex.refresh();
+
+        assertEquals(0, courseService.searchCourses("axolotl", 0, 10).getTotalHits());
+        assertEquals(course.getId(), courseService.searchCourses("salamander", 0, 10).getHits().get(0).getCourseId());
+        assertEquals(1, courseService.searchCourses("regrowth", 0, 10).getTotalHits()); // Stemmed "regrowth"
+
+        courseService.deleteCourse(course.getId());
+        courseSearchIndex.refresh();
+
+        assertEquals(0, courseService.searchCourses("salamander", 0, 10).getTotalHits());
+        assertEquals(0, courseService.searchCourses("regrowth", 0, 10).getTotalHits());
+    }
+
+    @Test
+    @DisplayName("pages do not overlap and requests past the result window are rejected")
+    void search_Pagination() {
+        List<Long> first = courseIds(courseService.searchCourses("course", 0, 5));
+        List<Long> second = courseIds(courseService.searchCourses("course", 1, 5));
+
+        assertEquals(5, second.size());
+        assertFalse(first.stream().anyMatch(second::contains));
+        assertThrows(IllegalArgumentException.class, () -> courseService.searchCourses("course", 20, 100));
+        assertThrows(IllegalArgumentException.class, () -> courseService.searchCourses(" ", 0, 10));
+    }
+
+    @Test
+    @DisplayName("rebuilds keep serving the previous index and keep the writes made while they run")
+    void rebuild_ConcurrentWrites_NoneLostNeverEmpty() throws IOException {
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 5; i++) {
+                courseSearchIndex.rebuild();
+            }
+        });
+        List<Long> created = new ArrayList<>();
+        while ((!rebuilds.isDone() && created.size() < 500) || created.size() < 10) { // Total hits are exact up to 1000
+            created.add(courseService.createCourse(
+                    new CourseDTO(null, "Tapir " + created.size() + " " + System.nanoTime(), null, 10, null)).getId());
+            assertTrue(courseService.searchCourses("course", 0, 1).getTotalHits() >= 20); // Never an empty or partial index
+        }
+        rebuilds.join();
+        courseSearchIndex.refresh();
+
+        assertEquals(created.size(), courseService.searchCourses("tapir", 0, 100).getTotalHits());
+    }
+
+    private static List<Long> courseIds(CourseSearchResultDTO result) {
+        return result.getHits().stream().map(CourseSearchHitDTO::getCourseId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,140 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseStatsDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.repository.PurchasedCourseRepository;
+import com.hcltech.courseacademy.service.CourseService;
+import com.hcltech.courseacademy.service.CourseStatsCounters;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import com.hcltech.courseacademy.service.StudentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Per-course counters through every purchase write path, and their reconciliation; same context as CourseDetailTest
+@PerfDataTest
+class CourseStatsTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private PurchasedCourseService purchasedCourseService;
+
+    @Autowired
+    private PurchasedCourseRepository purchasedCourseRepository;
+
+    @Autowired
+    private CourseStatsCounters courseStatsCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("the synthetic purchases are counted at startup")
+    void stats_SyntheticData_MatchPurchases() {
+        Long courseId = courseService.getAllCourses().get(0).getId();
+
+        CourseStatsDTO stats = courseService.getCourseStats(courseId);
+
+        assertEquals(purchasedCourseRepository.countByCourseId(courseId), stats.getEnrollments());
+        assertTrue(stats.getEnrollments() > 0);
+    }
+
+    @Test
+    @DisplayName("create, completion flips, course moves and deletes keep the counters current")
+    void stats_SingleWrites() {
+        Long first = newCourse("Stats Single A");
+        Long second = newCourse("Stats Single B");
+        PurchasedCourseDTO purchase = purchasedCourseService.createPurchasedCourse(
+                new PurchasedCourseDTO(null, studentId(0), first, LocalDate.now(), false));
+        purchasedCourseService.createPurchasedCourse(new PurchasedCourseDTO(null, studentId(1), first, LocalDate.now(), true));
+        assertStats(first, 2, 1);
+
+        purchasedCourseService.updatePurchasedCourse(purchase.getId(), new PurchasedCourseDTO(null, null, null, null, true));
+        assertStats(first, 2, 2);
+        assertEquals(1.0, courseService.getCourseStats(first).getCompletionRate());
+
+        purchasedCourseService.updatePurchasedCourse(purchase.getId(), new PurchasedCourseDTO(null, null, second, null, false));
+        assertStats(first, 1, 1);
+        assertStats(second, 1, 0);
+
+        purchasedCourseService.deletePurchasedCourse(purchase.getId());
+        assertStats(second, 0, 0);
+    }
+
+    @Test
+    @DisplayName("a rejected purchase leaves the counters unchanged")
+    void stats_DuplicatePurchase_NotCounted() {
+        Long courseId = newCourse("Stats Duplicate");
+        PurchasedCourseDTO purchase = new PurchasedCourseDTO(null, studentId(2), courseId, LocalDate.now(), false);
+        purchasedCourseService.createPurchasedCourse(purchase);
+
+        assertThrows(IllegalArgumentException.class, () -> purchasedCourseService.createPurchasedCourse(purchase));
+
+        assertStats(courseId, 1, 0);
+    }
+
+    @Test
+    @DisplayName("bulk purchases update each course's counters once with the created rows only")
+    void stats_BulkPurchases() {
+        Long courseId = newCourse("Stats Bulk");
+        List<PurchasedCourseDTO> purchases = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            purchases.add(new PurchasedCourseDTO(null, studentId(i), courseId, LocalDate.now(), i % 2 == 0));
+        }
+        purchases.add(new PurchasedCourseDTO(null, studentId(0), courseId, LocalDate.now(), true)); // Duplicate
+
+        assertEquals(10, purchasedCourseService.createPurchasedCourses(purchases).getCreated());
+
+        assertStats(courseId, 10, 5);
+    }
+
+    @Test
+    @DisplayName("reconciliation corrects purchases written around the service")
+    void reconcile_CorrectsDrift() {
+        Long courseId = newCourse("Stats Drift");
+        jdbcTemplate.update("insert into purchased_courses (student_id, course_id, purchase_date, completed) "
+                + "values (?, ?, current_date, true)", studentId(3), courseId);
+        assertStats(courseId, 0, 0);
+
+        assertTrue(courseStatsCounters.reconcile() >= 1);
+
+        assertStats(courseId, 1, 1);
+        assertEquals(0, courseStatsCounters.reconcile());
+    }
+
+    @Test
+    @DisplayName("stats of an unknown course are reported as not found")
+    void stats_UnknownCourse() {
+        assertThrows(NoSuchElementException.class, () -> courseService.getCourseStats(Long.MAX_VALUE));
+    }
+
+    private void assertStats(Long courseId, long enrollments, long completions) {
+        CourseStatsDTO stats = courseService.getCourseStats(courseId);
+        assertEquals(enrollments, stats.getEnrollments(), "enrollments");
+        assertEquals(completions, stats.getCompletions(), "completions");
+    }
+
+    private Long newCourse(String title) {
+        return courseService.createCourse(new CourseDTO(null, title, null, 10, null)).getId();
+    }
+
+    private Long studentId(int i) {
+        return studentService.getStudentByEmail("student" + i + "@perf.example.com").getId();
+    }
+}
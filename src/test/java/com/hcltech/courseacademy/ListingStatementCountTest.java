@@ -0,0 +1,200 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.CourseDetailDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.dto.CourseModuleSummaryDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.entity.Course;
+import com.hcltech.courseacademy.entity.CourseModule;
+import com.hcltech.courseacademy.entity.PurchasedCourse;
+import com.hcltech.courseacademy.entity.Student;
+import com.hcltech.courseacademy.mapper.PurchasedCourseMapper;
+import com.hcltech.courseacademy.repository.PurchasedCourseRepository;
+import com.hcltech.courseacademy.service.CatalogCacheEvictor;
+import com.hcltech.courseacademy.service.CourseModuleServiceImp;
+import com.hcltech.courseacademy.service.CourseSearchIndex;
+import com.hcltech.courseacademy.service.CourseServiceImp;
+import com.hcltech.courseacademy.service.CourseStatsCounters;
+import com.hcltech.courseacademy.service.ModuleContentStore;
+import com.hcltech.courseacademy.service.PurchasedCourseServiceImp;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Guards the listing paths against N+1 regressions: a listing of N rows must cost a fixed number of statements
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CourseModuleServiceImp.class, PurchasedCourseServiceImp.class, CourseServiceImp.class, CourseStatsCounters.class,
+        ListingStatementCountTest.JdbcStatementCounter.class})
+class ListingStatementCountTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseModuleServiceImp moduleService;
+
+    @Autowired
+    private PurchasedCourseServiceImp purchasedCourseService;
+
+    @Autowired
+    private PurchasedCourseRepository purchasedCourseRepository;
+
+    @Autowired
+    private CourseServiceImp courseService;
+
+    // Collaborators the services only use for side effects of writes; the listings never reach them
+    @MockBean
+    private CourseSearchIndex courseSearchIndex;
+
+    @MockBean
+    private ModuleContentStore moduleContentStore;
+
+    @MockBean
+    private CatalogCacheEvictor catalogCacheEvictor;
+
+    private Statistics statistics;
+    private Long courseId;
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        Course course = entityManager.persist(new Course("Statement Count", "N+1 guard", 100, null));
+        Student student = entityManager.persist(new Student("stats@example.com", "Stat", "Counter"));
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(new CourseModule("Module " + i, "Content " + i, course));
+            Course purchased = entityManager.persist(new Course("Purchased " + i, null, 10, null));
+            entityManager.persist(new PurchasedCourse(student, purchased, LocalDate.now(), false));
+        }
+        entityManager.flush();
+        entityManager.clear(); // Start every listing from a cold persistence context
+        courseId = course.getId();
+        studentId = student.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JdbcStatementCounter.STATEMENTS.set(0);
+    }
+
+    @Test
+    @DisplayName("module listing by course issues one statement for N rows")
+    void getModulesByCourseId_SingleStatement() {
+        List<CourseModuleDTO> modules = moduleService.getModulesByCourseId(courseId);
+
+        assertEquals(ROWS, modules.size());
+        assertEquals(courseId, modules.get(0).getCourseId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("module summaries by course issue one statement and carry the content length instead of the content")
+    void getModuleSummariesByCourseId_SingleStatement() {
+        List<CourseModuleSummaryDTO> modules = moduleService.getModuleSummariesByCourseId(courseId);
+
+        assertEquals(ROWS, modules.size());
+        assertEquals(courseId, modules.get(0).getCourseId());
+        assertEquals("Content 0".length(), modules.get(0).getContentLength());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("full module listing issues one statement for N rows")
+    void getAllModules_SingleStatement() {
+        assertEquals(ROWS, moduleService.getAllModules().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("purchase listing by student issues one statement for N rows")
+    void getPurchasedCoursesByStudentId_SingleStatement() {
+        List<PurchasedCourseDTO> purchases = purchasedCourseService.getPurchasedCoursesByStudentId(studentId);
+
+        assertEquals(ROWS, purchases.size());
+        assertEquals(studentId, purchases.get(0).getStudentId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("mapping entities with lazy associations does not initialize the proxies")
+    void purchasedCourseMapper_DoesNotLoadAssociations() {
+        List<PurchasedCourse> entities = purchasedCourseRepository.findByStudentId(studentId);
+        List<PurchasedCourseDTO> purchases = entities.stream()
+                .map(PurchasedCourseMapper::toDto)
+                .collect(Collectors.toList());
+
+        assertEquals(ROWS, purchases.size());
+        assertEquals(studentId, purchases.get(0).getStudentId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount()); // No student/course proxy was initialized
+    }
+
+    @Test
+    @DisplayName("course detail reads course, author and modules in one statement plus one counter read")
+    void getCourseDetail_TwoStatements() {
+        CourseDetailDTO detail = courseService.getCourseDetail(courseId);
+
+        assertEquals(ROWS, detail.getModules().size());
+        assertEquals("Statement Count", detail.getCourse().getTitle());
+        assertEquals(0, detail.getEnrollmentCount());
+        // The counters are read through JdbcTemplate, which Hibernate's statistics do not see
+        assertEquals(2, JdbcStatementCounter.STATEMENTS.get());
+    }
+
+    // Counts the statements prepared on any connection of the data source, by Hibernate and JdbcTemplate alike
+    @TestConfiguration
+    static class JdbcStatementCounter {
+
+        static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? proxy(DataSource.class, bean) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, Object target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                    STATEMENTS.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return result instanceof Connection ? proxy(Connection.class, result) : result;
+            }));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.service.CourseModuleService;
+import com.hcltech.courseacademy.service.CourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Summary views of the listings (?view=summary): lengths instead of the TEXT bodies; same context as ConditionalRequestTest
+@PerfDataTest
+@AutoConfigureMockMvc
+class ListingSummaryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseModuleService courseModuleService;
+
+    @Test
+    @DisplayName("module summaries of a course list titles and content lengths, and the single GET still has the content")
+    void moduleSummaries_ByCourse() throws Exception {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Summary Listing Course", "Short", 10, null));
+        CourseModuleDTO module = courseModuleService.createModule(
+                new CourseModuleDTO(null, "Only Module", "Twelve chars", course.getId()));
+        courseModuleService.createModule(new CourseModuleDTO(null, "Empty Module", null, course.getId()));
+
+        mockMvc.perform(get("/api/modules/course/{courseId}", course.getId()).param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Only Module"))
+                .andExpect(jsonPath("$[0].courseId").value(course.getId()))
+                .andExpect(jsonPath("$[0].contentLength").value(12))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[1].contentLength").doesNotExist());
+
+        mockMvc.perform(get("/api/modules/{id}", module.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Twelve chars"));
+    }
+
+    @Test
+    @DisplayName("course and module summary listings leave out descriptions and content")
+    void summaries_FullListings() throws Exception {
+        courseService.createCourse(new CourseDTO(null, "Summary Catalog Course", "Eleven char", 20, null));
+
+        mockMvc.perform(get("/api/courses").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].descriptionLength").isNumber())
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[?(@.title == 'Summary Catalog Course')].descriptionLength", hasItem(11)));
+
+        mockMvc.perform(get("/api/modules").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].contentLength").isNumber())
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+
+        mockMvc.perform(get("/api/courses")) // The full listing is unchanged
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description").isString());
+    }
+
+    @Test
+    @DisplayName("the module listings of an unknown course are 404, and of a course without modules an empty list")
+    void moduleListings_UnknownCourse() throws Exception {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Summary Listing Without Modules", null, 10, null));
+
+        mockMvc.perform(get("/api/modules/course/{courseId}", Long.MAX_VALUE).param("view", "summary"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/modules/course/{courseId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/modules/course/{courseId}", course.getId()).param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("view=summary together with limit is a keyset page rather than an ambiguous mapping")
+    void summaries_WithLimit_KeysetPage() throws Exception {
+        mockMvc.perform(get("/api/courses").param("view", "summary").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNumber());
+
+        mockMvc.perform(get("/api/modules").param("view", "summary").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNumber());
+    }
+}
@@ -0,0 +1,91 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.service.CourseService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Service and repository call metrics (MethodMetricsAspect) and the Prometheus endpoint; metrics export is off
+// in tests unless @AutoConfigureMetrics turns it on
+@PerfDataTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MethodMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    @DisplayName("service calls are timed and their result sizes recorded")
+    void serviceCall_TimedWithResultSize() {
+        long before = serviceTimer("getAllCourses", "success").count();
+
+        int size = courseService.getAllCourses().size();
+
+        assertEquals(before + 1, serviceTimer("getAllCourses", "success").count());
+        DistributionSummary resultSize = meterRegistry.get("courseacademy.service.result.size")
+                .tags("class", "CourseService", "method", "getAllCourses").summary();
+        assertTrue(resultSize.max() >= size);
+    }
+
+    @Test
+    @DisplayName("repository methods are timed under the application's interface, including inherited ones")
+    void repositoryCalls_TaggedWithRepositoryInterface() {
+        courseService.getAllCourses();
+
+        Timer timer = meterRegistry.find("courseacademy.repository.calls").tag("class", "CourseRepository").timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() > 0);
+    }
+
+    @Test
+    @DisplayName("failures are counted by exception type")
+    void failedCall_CountedAsError() {
+        assertThrows(NoSuchElementException.class, () -> courseService.getCourseById(-1L));
+
+        assertTrue(serviceTimer("getCourseById", "error").count() > 0);
+        assertTrue(meterRegistry.get("courseacademy.service.errors")
+                .tags("class", "CourseService", "method", "getCourseById", "exception", "NoSuchElementException")
+                .counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("the metrics are exposed with histogram buckets on the Prometheus endpoint")
+    void prometheusEndpoint_ExposesHistograms() throws Exception {
+        courseService.getAllCourses();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("courseacademy_service_calls_seconds_bucket{")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")));
+    }
+
+    private Timer serviceTimer(String method, String outcome) {
+        Timer timer = meterRegistry.find("courseacademy.service.calls")
+                .tags("class", "CourseService", "method", method, "outcome", outcome).timer();
+        return timer != null ? timer : meterRegistry.timer("unused.placeholder");
+    }
+}
@@ -0,0 +1,219 @@
+package com.hcltech.courseacademy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcltech.courseacademy.dto.CourseDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.service.CourseModuleService;
+import com.hcltech.courseacademy.service.CourseSearchIndex;
+import com.hcltech.courseacademy.service.CourseService;
+import com.hcltech.courseacademy.service.ModuleContentStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Module content downloads and uploads on a real Tomcat, where files go out through sendfile; same context as WireFormatTest
+@PerfDataTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ModuleContentTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseModuleService courseModuleService;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Test
+    @DisplayName("the whole content is sent with its byte length, and single ranges as 206 with Content-Range")
+    void content_WholeAndRanges() throws Exception {
+        String text = "Grüße aus dem Modul: " + "0123456789".repeat(20_000); // Non-ASCII: lengths are in bytes
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Long id = createModule("Long read", text).getId();
+
+        HttpResponse<byte[]> whole = get(id, null);
+        assertEquals(200, whole.statusCode());
+        assertArrayEquals(bytes, whole.body());
+        assertEquals(String.valueOf(bytes.length), whole.headers().firstValue(HttpHeaders.CONTENT_LENGTH).orElse(null));
+        assertEquals("bytes", whole.headers().firstValue(HttpHeaders.ACCEPT_RANGES).orElse(null));
+
+        HttpResponse<byte[]> middle = get(id, "bytes=100000-100099");
+        assertEquals(206, middle.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100_000, 100_100), middle.body());
+        assertEquals("bytes 100000-100099/" + bytes.length, middle.headers().firstValue(HttpHeaders.CONTENT_RANGE).orElse(null));
+
+        HttpResponse<byte[]> suffix = get(id, "bytes=-10");
+        assertEquals(206, suffix.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(bytes, bytes.length - 10, bytes.length), suffix.body());
+
+        HttpResponse<byte[]> openEnded = get(id, "bytes=5-");
+        assertArrayEquals(Arrays.copyOfRange(bytes, 5, bytes.length), openEnded.body());
+
+        HttpResponse<byte[]> pastEnd = get(id, "bytes=" + bytes.length + "-");
+        assertEquals(416, pastEnd.statusCode());
+        assertEquals("bytes */" + bytes.length, pastEnd.headers().firstValue(HttpHeaders.CONTENT_RANGE).orElse(null));
+
+        assertEquals(200, get(id, "bytes=0-1,5-6").statusCode()); // Several ranges: the whole content instead
+    }
+
+    @Test
+    @DisplayName("updates replace the stored content and its ETag; If-Range and If-None-Match follow the version")
+    void content_UpdateChangesVersion() throws Exception {
+        CourseModuleDTO module = createModule("Draft", "first draft");
+        String firstTag = get(module.getId(), null).headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        courseModuleService.updateModule(module.getId(),
+                new CourseModuleDTO(null, "Draft", "second draft, longer", module.getCourseId()));
+
+        HttpResponse<byte[]> updated = get(module.getId(), null);
+        assertEquals("second draft, longer", new String(updated.body(), StandardCharsets.UTF_8));
+        String secondTag = updated.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertNotEquals(firstTag, secondTag);
+
+        HttpResponse<byte[]> staleRange = send(request(module.getId(), "bytes=0-4").header(HttpHeaders.IF_RANGE, firstTag));
+        assertEquals(200, staleRange.statusCode()); // Resuming against the old version would splice two drafts
+        HttpResponse<byte[]> currentRange = send(request(module.getId(), "bytes=0-4").header(HttpHeaders.IF_RANGE, secondTag));
+        assertEquals("secon", new String(currentRange.body(), StandardCharsets.UTF_8));
+
+        assertEquals(304, send(request(module.getId(), null).header(HttpHeaders.IF_NONE_MATCH, secondTag)).statusCode());
+    }
+
+    @Test
+    @DisplayName("content opened before an update still reads the old version, and its file outlives the update")
+    void content_OpenDuringUpdate_ReadsOldVersion() throws Exception {
+        CourseModuleDTO module = createModule("Race", "old text");
+
+        try (ModuleContentStore.StoredContent old = courseModuleService.getModuleContent(module.getId())) {
+            courseModuleService.updateModule(module.getId(), new CourseModuleDTO(null, "Race", "new text", module.getCourseId()));
+
+            assertTrue(Files.exists(old.getPath())); // Sendfile opens the file by name after the handler returns
+            ByteBuffer buffer = ByteBuffer.allocate((int) old.getLength());
+            old.getChannel().read(buffer, 0);
+            assertEquals("old text", new String(buffer.array(), StandardCharsets.UTF_8));
+        }
+        assertEquals("new text", new String(get(module.getId(), null).body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("modules written before startup are copied from the database; deleted and unknown modules are 404")
+    void content_SeededAndDeletedModules() throws Exception {
+        CourseModuleDTO seeded = courseModuleService.getModuleById(1L);
+        HttpResponse<byte[]> response = get(1L, null);
+        assertEquals(200, response.statusCode());
+        assertEquals(seeded.getContent(), new String(response.body(), StandardCharsets.UTF_8));
+
+        CourseModuleDTO empty = createModule("Empty", null);
+        HttpResponse<byte[]> emptyResponse = get(empty.getId(), null);
+        assertEquals(200, emptyResponse.statusCode());
+        assertEquals(0, emptyResponse.body().length);
+
+        courseModuleService.deleteModule(empty.getId());
+        assertEquals(404, get(empty.getId(), null).statusCode());
+        assertEquals(404, get(Long.MAX_VALUE, null).statusCode());
+    }
+
+    @Test
+    @DisplayName("an upload is streamed in, stored in the database and the file store, and reported with its SHA-256")
+    void upload_LargeBody_StoredEverywhere() throws Exception {
+        CourseModuleDTO module = createModule("Upload", "placeholder");
+        // 8 MB of mostly four-byte characters (surrogate pairs in Java), and the last word is searchable
+        String text = "x" + "\uD83D\uDE00".repeat(2_100_000) + " ocelot tracking";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        HttpResponse<byte[]> response = upload(module.getId(), bytes, null);
+
+        assertEquals(200, response.statusCode());
+        JsonNode result = new ObjectMapper().readTree(response.body());
+        assertEquals(bytes.length, result.get("length").asLong());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)), result.get("sha256").asText());
+        assertEquals(module.getVersion() + 1, result.get("version").asLong());
+        assertEquals("\"" + result.get("version").asLong() + "\"", response.headers().firstValue(HttpHeaders.ETAG).orElse(null));
+
+        assertArrayEquals(bytes, get(module.getId(), null).body());
+        assertEquals(text, courseModuleService.getModuleById(module.getId()).getContent());
+        courseSearchIndex.refresh();
+        assertEquals(module.getId(), courseService.searchCourses("ocelot", 0, 10).getHits().get(0).getModuleId());
+    }
+
+    @Test
+    @DisplayName("invalid UTF-8, a wrong Digest, a stale If-Match or an unknown module leave the content unchanged")
+    void upload_Rejected() throws Exception {
+        CourseModuleDTO module = createModule("Guarded", "original");
+        byte[] replacement = "replacement".getBytes(StandardCharsets.UTF_8);
+        String digest = "sha-256=" + Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(replacement));
+
+        assertEquals(400, upload(module.getId(), new byte[]{'a', (byte) 0xC3, '(', 'b'}, null).statusCode());
+        assertEquals(400, upload(module.getId(), "tampered".getBytes(StandardCharsets.UTF_8), digest).statusCode());
+        assertEquals(412, send(uploadRequest(module.getId(), replacement).header(HttpHeaders.IF_MATCH, "\"999\"")).statusCode());
+        assertEquals(404, upload(Long.MAX_VALUE, replacement, null).statusCode());
+        assertEquals("original", new String(get(module.getId(), null).body(), StandardCharsets.UTF_8));
+        assertEquals("original", courseModuleService.getModuleById(module.getId()).getContent());
+
+        assertEquals(200, upload(module.getId(), replacement, digest).statusCode());
+        assertEquals("replacement", new String(get(module.getId(), null).body(), StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<byte[]> upload(Long id, byte[] body, String digest) throws IOException, InterruptedException {
+        HttpRequest.Builder request = uploadRequest(id, body);
+        if (digest != null) {
+            request.header("Digest", digest);
+        }
+        return send(request);
+    }
+
+    // Sent with chunked transfer encoding, so the server cannot size anything from Content-Length
+    private HttpRequest.Builder uploadRequest(Long id, byte[] body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/modules/" + id + "/content"))
+                .header(HttpHeaders.CONTENT_TYPE, "text/plain; charset=UTF-8")
+                .PUT(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body)));
+    }
+
+    private CourseModuleDTO createModule(String title, String content) {
+        CourseDTO course = courseService.createCourse(new CourseDTO(null, "Content " + title + " " + System.nanoTime(), null, 10, null));
+        return courseModuleService.createModule(new CourseModuleDTO(null, title, content, course.getId()));
+    }
+
+    private HttpResponse<byte[]> get(Long id, String range) throws IOException, InterruptedException {
+        return send(request(id, range));
+    }
+
+    private HttpRequest.Builder request(Long id, String range) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/modules/" + id + "/content"));
+        if (range != null) {
+            request.header(HttpHeaders.RANGE, range);
+        }
+        return request;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,27 @@
+package com.hcltech.courseacademy;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application context on the perf profile's embedded database, seeded with just enough synthetic rows to
+ * exercise the generator. Every test class using it with the same web environment shares one cached context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {"perf.data.authors=5", "perf.data.courses=20", "perf.data.modules=50",
+        "perf.data.students=30", "perf.data.purchases=100"})
+@ActiveProfiles("perf")
+public @interface PerfDataTest {
+
+    @AliasFor(annotation = SpringBootTest.class)
+    SpringBootTest.WebEnvironment webEnvironment() default SpringBootTest.WebEnvironment.MOCK;
+}
@@ -0,0 +1,173 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.BulkPurchaseReportDTO;
+import com.hcltech.courseacademy.dto.BulkPurchaseResultDTO;
+import com.hcltech.courseacademy.dto.PurchasedCourseDTO;
+import com.hcltech.courseacademy.entity.Course;
+import com.hcltech.courseacademy.entity.Student;
+import com.hcltech.courseacademy.repository.CourseRepository;
+import com.hcltech.courseacademy.repository.StudentRepository;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The purchase path relies on the unique (student_id, course_id) index and INSERT ... ON CONFLICT DO NOTHING;
+// runs on the perf profile (H2 in PostgreSQL mode) with the same context as CourseAcademyServiceApplicationTests
+@PerfDataTest
+class PurchaseConcurrencyTest {
+
+    private static final int ATTEMPTS = 2_000;
+    private static final int THREADS = 64;
+    private static final int BULK_PAIRS = 50;
+    private static final int BULK_THREADS = 16;
+
+    @Autowired
+    private PurchasedCourseService purchasedCourseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long studentId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        long unique = System.nanoTime();
+        studentId = studentRepository.save(new Student("race" + unique + "@example.com", "Race", "Condition")).getId();
+        courseId = courseRepository.save(new Course("Concurrent Checkout " + unique, null, 100, null)).getId();
+    }
+
+    @Test
+    @DisplayName("parallel duplicate purchases write exactly one row")
+    void createPurchasedCourse_ParallelDuplicates_OneRow() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(ATTEMPTS);
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        purchasedCourseService.createPurchasedCourse(
+                                new PurchasedCourseDTO(null, studentId, courseId, LocalDate.now(), false));
+                        created.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        duplicates.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(ATTEMPTS - 1, duplicates.get());
+        assertEquals(0, failures.get());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from purchased_courses where student_id = ? and course_id = ?",
+                Integer.class, studentId, courseId));
+    }
+
+    @Test
+    @DisplayName("parallel bulk requests for the same pairs create each pair once and report the rest as duplicates")
+    void createPurchasedCourses_ParallelOverlappingBatches_EachPairOnce() throws Exception {
+        List<PurchasedCourseDTO> batch = new ArrayList<>();
+        for (int i = 0; i < BULK_PAIRS; i++) {
+            Long otherCourseId = courseRepository.save(new Course("Concurrent Cohort " + System.nanoTime() + "-" + i, null, 10, null)).getId();
+            batch.add(new PurchasedCourseDTO(null, studentId, otherCourseId, LocalDate.now(), false));
+        }
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BULK_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(BULK_THREADS);
+            for (int t = 0; t < BULK_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        BulkPurchaseReportDTO report = purchasedCourseService.createPurchasedCourses(batch);
+                        created.addAndGet(report.getCreated());
+                        duplicates.addAndGet((int) report.getResults().stream()
+                                .filter(result -> result.getStatus() == BulkPurchaseResultDTO.Status.DUPLICATE).count());
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet(); // A unique-constraint violation would fail the whole batch
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(BULK_PAIRS, created.get());
+        assertEquals(BULK_PAIRS * (BULK_THREADS - 1), duplicates.get());
+        assertEquals(BULK_PAIRS, jdbcTemplate.queryForObject(
+                "select count(*) from purchased_courses where student_id = ?", Integer.class, studentId));
+    }
+
+    @Test
+    @DisplayName("a purchase returns the generated ID and a repeat is rejected as already purchased")
+    void createPurchasedCourse_Repeat_AlreadyPurchased() {
+        PurchasedCourseDTO purchase = new PurchasedCourseDTO(null, studentId, courseId, LocalDate.now(), null);
+
+        PurchasedCourseDTO created = purchasedCourseService.createPurchasedCourse(purchase);
+
+        assertNotNull(created.getId());
+        assertEquals(false, created.getCompleted());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> purchasedCourseService.createPurchasedCourse(purchase));
+        assertEquals("Student has already purchased this course.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("a missing student or course is reported as not found")
+    void createPurchasedCourse_MissingReferences_NotFound() {
+        NoSuchElementException student = assertThrows(NoSuchElementException.class, () -> purchasedCourseService
+                .createPurchasedCourse(new PurchasedCourseDTO(null, -1L, courseId, LocalDate.now(), false)));
+        NoSuchElementException course = assertThrows(NoSuchElementException.class, () -> purchasedCourseService
+                .createPurchasedCourse(new PurchasedCourseDTO(null, studentId, -1L, LocalDate.now(), false)));
+
+        assertEquals("Student not found with ID: -1", student.getMessage());
+        assertEquals("Course not found with ID: -1", course.getMessage());
+    }
+}
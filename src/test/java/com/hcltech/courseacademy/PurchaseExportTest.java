@@ -0,0 +1,104 @@
+package com.hcltech.courseacademy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcltech.courseacademy.batch.PurchaseExportRunner;
+import com.hcltech.courseacademy.service.PurchasedCourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Purchase export over HTTP and in batch mode; same context as ConditionalRequestTest
+@PerfDataTest
+@AutoConfigureMockMvc
+class PurchaseExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PurchasedCourseService purchasedCourseService;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("CSV export with details has a header and one joined line per purchase")
+    void export_CsvWithDetails() throws Exception {
+        long purchases = jdbcTemplate.queryForObject("select count(*) from purchased_courses", Long.class);
+
+        String csv = mockMvc.perform(get("/api/purchased-courses/export").param("details", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"purchased-courses.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String> lines = csv.lines().toList();
+
+        assertTrue(purchases >= 100);
+        assertEquals(purchases + 1, lines.size());
+        assertEquals("id,student_id,course_id,purchase_date,completed,student_email,course_title,course_price", lines.get(0));
+        String[] first = lines.get(1).split(",");
+        assertEquals(8, first.length);
+        assertTrue(first[5].endsWith("@perf.example.com"));
+    }
+
+    @Test
+    @DisplayName("NDJSON export without details carries only the purchase columns")
+    void export_NdjsonWithoutDetails() throws Exception {
+        String ndjson = mockMvc.perform(get("/api/purchased-courses/export").param("format", "NDJSON"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        JsonNode first = objectMapper.readTree(ndjson.lines().findFirst().orElseThrow());
+
+        assertTrue(first.hasNonNull("studentId"));
+        assertTrue(first.get("purchaseDate").isTextual()); // ISO date, not an array
+        assertFalse(first.has("studentEmail"));
+        assertFalse(first.has("coursePrice"));
+    }
+
+    @Test
+    @DisplayName("an unknown format is rejected")
+    void export_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/purchased-courses/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("batch mode writes the complete export to the file and leaves no partial file behind")
+    void runner_WritesFile(@TempDir Path directory) throws Exception {
+        Path output = directory.resolve("purchases.ndjson");
+        long purchases = jdbcTemplate.queryForObject("select count(*) from purchased_courses", Long.class);
+
+        new PurchaseExportRunner(purchasedCourseService, objectMapper, applicationContext, output, "ndjson", true, false)
+                .run(null);
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(purchases, lines.size());
+        assertTrue(objectMapper.readTree(lines.get(0)).hasNonNull("courseTitle"));
+        assertFalse(Files.exists(directory.resolve("purchases.ndjson.part")));
+    }
+}
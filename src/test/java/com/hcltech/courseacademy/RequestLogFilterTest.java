@@ -0,0 +1,78 @@
+package com.hcltech.courseacademy;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.hcltech.courseacademy.config.RequestLogFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Summary line format and the sampling rules, with successful reads never sampled (rate 0)
+class RequestLogFilterTest {
+
+    private final RequestLogFilter filter = new RequestLogFilter(0.0, Duration.ofMillis(500));
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("writes are always logged as one key=value line with the matched route")
+    void write_AlwaysLogged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/courses/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/courses/{id}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=PUT path=/api/courses/7 route=/api/courses/{id} status=200 duration_ms="), line);
+        assertTrue(line.endsWith(" sample_rate=1.0"), line);
+    }
+
+    @Test
+    @DisplayName("successful reads are sampled, failed ones are always logged")
+    void read_SampledUnlessFailed() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/courses"), new MockHttpServletResponse(), new MockFilterChain());
+        assertEquals(0, appender.list.size());
+
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/courses/0"), notFound, new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains(" status=404 "));
+    }
+
+    @Test
+    @DisplayName("slow reads are always logged")
+    void slowRead_AlwaysLogged() throws Exception {
+        RequestLogFilter slowAtOnce = new RequestLogFilter(0.0, Duration.ZERO);
+
+        slowAtOnce.doFilter(new MockHttpServletRequest("GET", "/api/courses"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+    }
+}
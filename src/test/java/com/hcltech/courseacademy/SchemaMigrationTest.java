@@ -0,0 +1,126 @@
+package com.hcltech.courseacademy;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the Flyway migrations on the embedded test database; ddl-auto=validate then checks them against the entities
+@DataJpaTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("all migrations are applied")
+    void migrations_Applied() {
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), applied);
+    }
+
+    @Test
+    @DisplayName("a student cannot purchase the same course twice")
+    void purchasedCourses_DuplicatePair_Rejected() {
+        jdbcTemplate.update("insert into students (email, first_name, last_name) values ('dup@example.com', 'Dup', 'Licate')");
+        jdbcTemplate.update("insert into courses (title, price) values ('Unique Purchase', 10)");
+        Long studentId = jdbcTemplate.queryForObject("select id from students where email = 'dup@example.com'", Long.class);
+        Long courseId = jdbcTemplate.queryForObject("select id from courses where title = 'Unique Purchase'", Long.class);
+        String insert = "insert into purchased_courses (student_id, course_id, purchase_date, completed) values (?, ?, current_date, false)";
+
+        jdbcTemplate.update(insert, studentId, courseId);
+
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(insert, studentId, courseId));
+    }
+
+    @Test
+    @DisplayName("rows inserted without a version start at version 0")
+    void versionColumns_DefaultToZero() {
+        jdbcTemplate.update("insert into authors (firstname, lastname, email) values ('Raw', 'Insert', 'raw@example.com')");
+
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from authors where email = 'raw@example.com'", Long.class));
+    }
+
+    @Test
+    @DisplayName("the foreign-key indexes are created")
+    void foreignKeyIndexes_Created() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes where table_schema = 'PUBLIC'", String.class);
+
+        assertTrue(indexes.containsAll(List.of("ux_purchased_courses_student_course", "ix_purchased_courses_course",
+                "ix_modules_course", "ix_courses_author")), () -> "Indexes: " + indexes);
+    }
+
+    @Test
+    @DisplayName("foreign-key lookups are planned as index scans, not table scans")
+    void foreignKeyLookups_UseIndexes() {
+        assertIndexScan("select id from purchased_courses where student_id = 1");
+        assertIndexScan("select id from purchased_courses where course_id = 1");
+        assertIndexScan("select id from modules where course_id = 1");
+        assertIndexScan("select id from courses where author_id = 1");
+        String plan = explain("select id from purchased_courses where student_id = 1 and course_id = 2");
+        assertTrue(plan.toLowerCase().contains("ux_purchased_courses_student_course"), plan);
+    }
+
+    @Test
+    @DisplayName("V2 stops on duplicate purchases instead of deleting them; the cleanup script archives them")
+    void duplicatePurchases_FailMigration_UntilCleanedUp() {
+        DataSource legacy = new DriverManagerDataSource("jdbc:h2:mem:legacy;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(legacy).target("1").load().migrate(); // The schema as ddl-auto=update left it
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        legacyJdbc.update("insert into students (email, first_name, last_name) values ('twice@example.com', 'Bought', 'Twice')");
+        legacyJdbc.update("insert into courses (title, price) values ('Bought Twice', 10)");
+        String insert = "insert into purchased_courses (student_id, course_id, purchase_date, completed) " +
+                "select s.id, c.id, current_date, ? from students s, courses c where s.email = 'twice@example.com'";
+        legacyJdbc.update(insert, true);
+        legacyJdbc.update(insert, false);
+        legacyJdbc.update(insert, false);
+        Flyway flywayToLatest = Flyway.configure().dataSource(legacy).load();
+
+        assertThrows(FlywayException.class, flywayToLatest::migrate);
+        assertEquals(3, legacyJdbc.queryForObject("select count(*) from purchased_courses", Integer.class));
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/cleanup/purchased_courses_duplicates.sql")).execute(legacy);
+        flywayToLatest.repair(); // H2 DDL is not transactional, so Flyway recorded the failed V2; PostgreSQL rolls it back
+        flywayToLatest.migrate();
+
+        assertEquals(List.of(true), legacyJdbc.queryForList("select completed from purchased_courses", Boolean.class));
+        assertEquals(2, legacyJdbc.queryForObject("select count(*) from purchased_courses_duplicates d " +
+                "join purchased_courses p on p.id = d.kept_id", Integer.class));
+    }
+
+    private void assertIndexScan(String query) {
+        String plan = explain(query);
+        assertFalse(plan.contains("tableScan"), plan); // H2 marks full scans as /* TABLE.tableScan */
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("explain " + query, String.class);
+    }
+}
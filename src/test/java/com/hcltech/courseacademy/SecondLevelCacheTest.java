@@ -0,0 +1,205 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.config.SecondLevelCacheConfig;
+import com.hcltech.courseacademy.dto.CourseImportDTO;
+import com.hcltech.courseacademy.dto.CourseModuleDTO;
+import com.hcltech.courseacademy.entity.Author;
+import com.hcltech.courseacademy.entity.Course;
+import com.hcltech.courseacademy.entity.CourseModule;
+import com.hcltech.courseacademy.repository.AuthorRepository;
+import com.hcltech.courseacademy.repository.CourseModuleRepository;
+import com.hcltech.courseacademy.repository.CourseRepository;
+import com.hcltech.courseacademy.service.AuthorServiceImp;
+import com.hcltech.courseacademy.service.AuthorSummaryView;
+import com.hcltech.courseacademy.service.CatalogCacheEvictor;
+import com.hcltech.courseacademy.service.CourseModuleServiceImp;
+import com.hcltech.courseacademy.service.CourseSearchIndex;
+import com.hcltech.courseacademy.service.CourseServiceImp;
+import com.hcltech.courseacademy.service.CourseStatsCounters;
+import com.hcltech.courseacademy.service.ModuleContentStore;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Repeated catalog reads under the l2cache profile must be answered from the second-level/query cache without SQL
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("l2cache")
+@Import({SecondLevelCacheConfig.class, CourseModuleServiceImp.class, CourseServiceImp.class, AuthorServiceImp.class,
+        CatalogCacheEvictor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each read runs in its own committed transaction, as in the app
+class SecondLevelCacheTest {
+
+    private static final int MODULES = 5;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseModuleRepository moduleRepository;
+
+    @Autowired
+    private CourseModuleServiceImp moduleService;
+
+    @Autowired
+    private CourseServiceImp courseService;
+
+    @Autowired
+    private AuthorServiceImp authorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Collaborators the services only use for side effects; the Hibernate caches are what is under test
+    @MockBean
+    private CacheManager cacheManager; // A mock has no Spring caches to evict
+
+    @MockBean
+    private CourseSearchIndex courseSearchIndex;
+
+    @MockBean
+    private ModuleContentStore moduleContentStore;
+
+    @MockBean
+    private CourseStatsCounters courseStatsCounters;
+
+    @MockBean
+    private AuthorSummaryView authorSummaryView;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long authorId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        Author author = authorRepository.save(new Author("Cache", "Author", "cache@example.com"));
+        Course course = courseRepository.save(new Course("Cached Course", "L2 cache", 100, author));
+        for (int i = 0; i < MODULES; i++) {
+            moduleRepository.save(new CourseModule("Module " + i, "Content " + i, course));
+        }
+        authorId = author.getId();
+        courseId = course.getId();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAll(); // Start from a cold cache; the first read below warms it
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Bulk deletes also invalidate the affected cache regions
+        moduleRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("repeated findById is served from the entity cache")
+    void findById_RepeatedRead_NoSql() {
+        courseRepository.findById(courseId).orElseThrow();
+        statistics.clear();
+
+        Course course = courseRepository.findById(courseId).orElseThrow();
+
+        assertEquals("Cached Course", course.getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("repeated module and course listings are served from the query cache")
+    void getModulesByCourseId_RepeatedQuery_NoSql() {
+        assertEquals(MODULES, moduleService.getModulesByCourseId(courseId).size());
+        assertEquals(1, courseRepository.findByAuthorId(authorId).size());
+        statistics.clear();
+
+        List<CourseModuleDTO> modules = moduleService.getModulesByCourseId(courseId);
+        assertEquals(MODULES, modules.size());
+        assertEquals("Content 0", modules.get(0).getContent());
+        assertEquals(1, courseRepository.findByAuthorId(authorId).size());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("repeated lazy collection access is served from the collection cache")
+    void courseModules_RepeatedAccess_NoSql() {
+        transactionTemplate.executeWithoutResult(status ->
+                courseRepository.findById(courseId).orElseThrow().getModules().size());
+        statistics.clear();
+
+        int size = transactionTemplate.execute(status ->
+                courseRepository.findById(courseId).orElseThrow().getModules().size());
+
+        assertEquals(MODULES, size);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("an update invalidates the cached query results")
+    void getModulesByCourseId_AfterInsert_Requeries() {
+        moduleService.getModulesByCourseId(courseId);
+        transactionTemplate.executeWithoutResult(status -> moduleRepository.save(
+                new CourseModule("Late module", "Added after caching", courseRepository.getReferenceById(courseId))));
+        statistics.clear();
+
+        assertEquals(MODULES + 1, moduleService.getModulesByCourseId(courseId).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("deleting a module through its repository evicts the cached course.modules collection")
+    void courseModules_AfterModuleDelete_Reloaded() {
+        Long moduleId = moduleRepository.findByCourseId(courseId).get(0).getId();
+        transactionTemplate.executeWithoutResult(status ->
+                courseRepository.findById(courseId).orElseThrow().getModules().size());
+        moduleRepository.deleteById(moduleId);
+
+        int size = transactionTemplate.execute(status ->
+                courseRepository.findById(courseId).orElseThrow().getModules().size());
+
+        assertEquals(MODULES - 1, size);
+    }
+
+    @Test
+    @DisplayName("courses imported with JDBC evict the author's cached course list and collection")
+    void importCourses_AuthorCachesEvicted() {
+        assertEquals(1, authorService.getCoursesByAuthor(authorId).size());
+        transactionTemplate.executeWithoutResult(status ->
+                authorRepository.findById(authorId).orElseThrow().getCourses().size());
+
+        courseService.importCourses(List.of(new CourseImportDTO("Imported Course", "Bulk", 50, authorId,
+                List.of(new CourseModuleDTO(null, "Imported module", "Imported", null)))).iterator());
+
+        assertEquals(2, authorService.getCoursesByAuthor(authorId).size());
+        authorService.deleteAuthor(authorId); // Cascades over Author.courses: the imported course has to be in it
+        assertFalse(authorRepository.existsById(authorId));
+        assertEquals(0, courseRepository.count());
+    }
+}
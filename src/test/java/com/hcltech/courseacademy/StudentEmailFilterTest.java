@@ -0,0 +1,90 @@
+package com.hcltech.courseacademy;
+
+import com.hcltech.courseacademy.dto.StudentDTO;
+import com.hcltech.courseacademy.entity.Student;
+import com.hcltech.courseacademy.repository.StudentRepository;
+import com.hcltech.courseacademy.service.StudentEmailFilter;
+import com.hcltech.courseacademy.service.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Student signup with the email filter in front of the duplicate check; same context as CourseAcademyServiceApplicationTests
+@PerfDataTest
+class StudentEmailFilterTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentEmailFilter studentEmailFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("the filter is built from the existing students at startup")
+    void filter_BuiltAtStartup_ContainsExistingEmails() {
+        assertTrue(studentEmailFilter.mightContain("student0@perf.example.com"));
+        assertTrue(studentEmailFilter.mightContain("student29@perf.example.com"));
+    }
+
+    @Test
+    @DisplayName("a created student is added and a duplicate signup is rejected")
+    void createStudent_Duplicate_Rejected() {
+        String email = "filter-create@example.com";
+        assertFalse(studentEmailFilter.mightContain(email));
+
+        StudentDTO created = studentService.createStudent(new StudentDTO(null, email, "Bloom", "Filter"));
+
+        assertNotNull(created.getId());
+        assertTrue(studentEmailFilter.mightContain(email));
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> studentService.createStudent(new StudentDTO(null, email, "Bloom", "Again")));
+        assertEquals("Student with email " + email + " already exists.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("an email the filter does not know about is still rejected by the unique constraint")
+    void createStudent_EmailMissingFromFilter_RejectedByConstraint() {
+        String email = "filter-bypass@example.com";
+        studentRepository.save(new Student(email, "Written", "Directly")); // Bypasses the service and the filter
+        assertFalse(studentEmailFilter.mightContain(email));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> studentService.createStudent(new StudentDTO(null, email, "Bloom", "Filter")));
+        assertEquals("Student with email " + email + " already exists.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("update and delete move emails out of the filter after commit")
+    void updateAndDelete_EmailsRemoved() {
+        StudentDTO created = studentService.createStudent(new StudentDTO(null, "filter-old@example.com", "Bloom", "Filter"));
+
+        studentService.updateStudent(created.getId(), new StudentDTO(null, "filter-new@example.com", "Bloom", "Filter"));
+        assertFalse(studentEmailFilter.mightContain("filter-old@example.com"));
+        assertTrue(studentEmailFilter.mightContain("filter-new@example.com"));
+
+        studentService.deleteStudent(created.getId());
+        assertFalse(studentEmailFilter.mightContain("filter-new@example.com"));
+    }
+
+    @Test
+    @DisplayName("the filter publishes its false-positive rate and memory footprint")
+    void metrics_Registered() {
+        assertTrue(meterRegistry.get("students.email.filter.memory").gauge().value() > 0);
+        assertTrue(meterRegistry.get("students.email.filter.false.positive.rate.estimated").gauge().value() >= 0);
+        assertNotNull(meterRegistry.get("students.email.filter.false.positive.rate.observed").gauge());
+        assertNotNull(meterRegistry.get("students.email.filter.checks").tag("outcome", "definite_miss").functionCounter());
+    }
+}
@@ -0,0 +1,88 @@
+package com.hcltech.courseacademy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Content negotiation and gzip on a real Tomcat (MockMvc does not compress); raw bytes via java.net.http
+@PerfDataTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WireFormatTest {
+
+    private static final String PURCHASES = "/api/purchased-courses";
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("CBOR and Smile carry the same listing as JSON in fewer bytes")
+    void listing_BinaryFormats_SameContentFewerBytes() throws Exception {
+        HttpResponse<byte[]> json = get(PURCHASES, "application/json", null);
+        HttpResponse<byte[]> cbor = get(PURCHASES, "application/cbor", null);
+        HttpResponse<byte[]> smile = get(PURCHASES, "application/x-jackson-smile", null);
+
+        assertEquals("application/cbor", contentType(cbor));
+        assertEquals("application/x-jackson-smile", contentType(smile));
+        JsonNode fromJson = new ObjectMapper().readTree(json.body());
+        assertTrue(fromJson.size() >= 100); // Other tests on the shared perf database may have added purchases
+        assertEquals(fromJson, new CBORMapper().readTree(cbor.body()));
+        assertEquals(fromJson, new SmileMapper().readTree(smile.body()));
+        assertTrue(cbor.body().length < json.body().length, () -> cbor.body().length + " >= " + json.body().length);
+        assertTrue(smile.body().length < json.body().length, () -> smile.body().length + " >= " + json.body().length);
+    }
+
+    @Test
+    @DisplayName("large responses are gzipped when the client accepts it, small ones are not")
+    void gzip_AboveThresholdOnly() throws Exception {
+        HttpResponse<byte[]> plain = get(PURCHASES, "application/json", null);
+        HttpResponse<byte[]> gzipped = get(PURCHASES, "application/json", "gzip");
+
+        assertEquals("gzip", gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertTrue(gzipped.body().length < plain.body().length / 4);
+        assertArrayEquals(plain.body(), gunzip(gzipped.body()));
+
+        HttpResponse<byte[]> small = get("/api/students/1", "application/json", "gzip");
+        assertEquals(200, small.statusCode());
+        assertTrue(small.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null);
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
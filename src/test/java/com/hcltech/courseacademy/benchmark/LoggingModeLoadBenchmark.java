@@ -0,0 +1,59 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.hcltech.courseacademy.CourseAcademyServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput of the logging modes under the closed-loop load of {@link WebTierLoadBenchmark}:
+ * <ul>
+ *     <li>verbose: the default configuration, with per-call INFO lines and show-sql / format_sql on stdout</li>
+ *     <li>prod, every request: the prod profile (async appender, SQL through the logger, one summary line per
+ *     request) with read sampling off</li>
+ *     <li>prod: the prod profile as shipped, successful reads sampled at 1%</li>
+ * </ul>
+ * Run it with stdout going where it goes in production (a terminal, a container log pipe); redirected to
+ * /dev/null the synchronous console writes cost less than they do there.
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.hcltech.courseacademy.benchmark.LoggingModeLoadBenchmark -Dclients=50
+ * </pre>
+ * System properties: as for WebTierLoadBenchmark (clients, requestsPerClient, warmupRequests, path, courses).
+ */
+public final class LoggingModeLoadBenchmark {
+
+    private static final int COURSES = Integer.getInteger("courses", 200);
+
+    private LoggingModeLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<WebTierLoadBenchmark.Result> results = new ArrayList<>();
+        results.add(run("verbose", "perf",
+                "--spring.jpa.show-sql=true", "--spring.jpa.properties.hibernate.format_sql=true"));
+        results.add(run("prod, every req", "perf,prod", "--request-log.read-sample-rate=1.0"));
+        results.add(run("prod", "perf,prod"));
+        System.out.printf("%nclients=%s requests/client=%s path=%s%n", Integer.getInteger("clients", 2000),
+                Integer.getInteger("requestsPerClient", 20), System.getProperty("path", "/api/courses"));
+        results.forEach(System.out::println);
+    }
+
+    private static WebTierLoadBenchmark.Result run(String label, String profiles, String... extraArgs) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                "--perf.data.courses=" + COURSES,
+                "--perf.data.modules=0",
+                "--perf.data.students=0",
+                "--perf.data.purchases=0"));
+        arguments.addAll(List.of(extraArgs));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CourseAcademyServiceApplication.class)
+                .run(arguments.toArray(new String[0]))) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            return WebTierLoadBenchmark.run(label, "http://localhost:" + port);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.hcltech.courseacademy.benchmark;
+
+import com.hcltech.courseacademy.CourseAcademyServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load benchmark for the web tier: N concurrent clients each send requests back to back,
+ * and the latency percentiles of the two request execution models are compared.
+ * <p>
+ * Not a unit test (surefire does not pick it up); run it from the IDE or with
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.hcltech.courseacademy.benchmark.WebTierLoadBenchmark -Dclients=2000
+ * </pre>
+ * By default the application is started twice with the perf profile (embedded H2, synthetic data), once on
+ * Tomcat's platform-thread pool and once with spring.threads.virtual.enabled=true. An in-memory database answers almost instantly, which
+ * understates the gap; pass -DbaseUrl=http://host:port to load an already running instance (for example one
+ * backed by PostgreSQL, started in the mode under test) instead.
+ * <p>
+ * System properties: clients (2000), requestsPerClient (20), warmupRequests (2000), path (/api/courses), courses (200).
+ */
+public final class WebTierLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("clients", 2000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("requestsPerClient", 20);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("warmupRequests", 2000);
+    private static final int COURSES = Integer.getInteger("courses", 200);
+    private static final String PATH = System.getProperty("path", "/api/courses");
+
+    private WebTierLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("baseUrl");
+        if (baseUrl != null) {
+            System.out.println(run("external", baseUrl));
+            return;
+        }
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                String port = context.getEnvironment().getProperty("local.server.port");
+                results.add(run(virtualThreads ? "virtual threads" : "platform pool", "http://localhost:" + port));
+            }
+        }
+        System.out.printf("%nclients=%d requests/client=%d path=%s%n", CLIENTS, REQUESTS_PER_CLIENT, PATH);
+        results.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        // Command line arguments, so they take precedence over application-perf.properties
+        return new SpringApplicationBuilder(CourseAcademyServiceApplication.class)
+                .run(
+                        "--spring.profiles.active=perf",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--perf.data.courses=" + COURSES,
+                        "--perf.data.modules=0",
+                        "--perf.data.students=0",
+                        "--perf.data.purchases=0",
+                        "--logging.level.root=WARN");
+    }
+
+    // Also used by LoggingModeLoadBenchmark
+    static Result run(String label, String baseUrl) throws Exception {
+        URI uri = URI.create(baseUrl + PATH);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            AtomicInteger errors = new AtomicInteger();
+            List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(all);
+            return new Result(label, all, elapsed, errors.get());
+        }
+    }
+
+    static final class Result {
+
+        private final String label;
+        private final long[] sortedLatencies;
+        private final long elapsedNanos;
+        private final int errors;
+
+        Result(String label, long[] sortedLatencies, long elapsedNanos, int errors) {
+            this.label = label;
+            this.sortedLatencies = sortedLatencies;
+            this.elapsedNanos = elapsedNanos;
+            this.errors = errors;
+        }
+
+        private double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            double throughput = sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+            return String.format("%-16s req/s=%9.1f p50=%8.2fms p99=%8.2fms max=%8.2fms errors=%d",
+                    label, throughput, percentileMillis(50), percentileMillis(99),
+                    percentileMillis(100), errors);
+        }
+    }
+}
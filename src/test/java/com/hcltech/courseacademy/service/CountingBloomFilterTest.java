@@ -0,0 +1,88 @@
+package com.hcltech.courseacademy.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+    private static final int ELEMENTS = 20_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    @DisplayName("added elements are always reported as present")
+    void mightContain_AddedElements_NoFalseNegatives() {
+        CountingBloomFilter filter = new CountingBloomFilter(ELEMENTS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ELEMENTS; i++) {
+            filter.add("student" + i + "@example.com");
+        }
+
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertTrue(filter.mightContain("student" + i + "@example.com"));
+        }
+        assertEquals(ELEMENTS, filter.elements());
+    }
+
+    @Test
+    @DisplayName("the false-positive rate at capacity stays close to the configured rate")
+    void mightContain_AbsentElements_FalsePositiveRateNearTarget() {
+        CountingBloomFilter filter = new CountingBloomFilter(ELEMENTS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ELEMENTS; i++) {
+            filter.add("student" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            if (filter.mightContain("absent" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / ELEMENTS;
+
+        assertTrue(observed < FALSE_POSITIVE_RATE * 2, "observed false-positive rate " + observed);
+        assertTrue(Math.abs(filter.estimatedFalsePositiveRate() - FALSE_POSITIVE_RATE) < FALSE_POSITIVE_RATE,
+                "estimated false-positive rate " + filter.estimatedFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("removing an element keeps the other elements present")
+    void remove_Element_OthersStillPresent() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("student" + i + "@example.com");
+        }
+
+        filter.remove("student0@example.com");
+
+        for (int i = 1; i < 1_000; i++) {
+            assertTrue(filter.mightContain("student" + i + "@example.com"));
+        }
+        assertEquals(999, filter.elements());
+    }
+
+    @Test
+    @DisplayName("an emptied filter reports nothing as present")
+    void remove_AllElements_Empty() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, FALSE_POSITIVE_RATE);
+        filter.add("a@example.com");
+        filter.add("b@example.com");
+
+        filter.remove("a@example.com");
+        filter.remove("b@example.com");
+
+        assertFalse(filter.mightContain("a@example.com"));
+        assertFalse(filter.mightContain("b@example.com"));
+        assertEquals(0.0, filter.estimatedFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("invalid sizing is rejected")
+    void constructor_InvalidArguments_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1.0));
+    }
+}